@@ -1,18 +1,18 @@
-/**
- * Created by Brandon on 2017-03-11.
- */
-public class GameState {
-
-    private boolean upTurn;
-
-    private boolean checkUp;
-    private boolean checkMateUp;
-
-    private boolean checkDown;
-    private boolean checkMateDown;
-
-    public GameState() {
-        upTurn = false;
-    }
-
-}
+/**
+ * Created by Brandon on 2017-03-11.
+ */
+public class GameState {
+
+    private boolean upTurn;
+
+    private boolean checkUp;
+    private boolean checkMateUp;
+
+    private boolean checkDown;
+    private boolean checkMateDown;
+
+    public GameState() {
+        upTurn = false;
+    }
+
+}
@@ -0,0 +1,253 @@
+/**
+ * Precomputed attack tables. Each table holds one bitboard per square of the squares a piece standing on it attacks, so finding the
+ * targets of a piece is a single array read instead of stepping through its moves and checking the bounds of each one.
+ *
+ * Sliding pieces depend on which squares block them, so they use magic bitboards: the blockers on the squares a slider could reach are
+ * multiplied by a per square magic number and shifted, which hashes every blocker arrangement to its own entry of a lookup table without
+ * collisions. The lookup tables are filled once when the class loads.
+ */
+public class Attacks {
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    //Squares a pawn attacks, indexed by side * 64 + square since upper pawns attack downwards and lower pawns attack upwards.
+    private static final long[] PAWN = new long[128];
+    //Squares strictly between two squares which share a rank, file or diagonal, indexed by from * 64 + to. Empty if they do not line up.
+    private static final long[] BETWEEN = new long[64 * 64];
+
+    //Diagonal directions followed by straight directions, as x and y offsets.
+    private static final int[] BISHOP_X = {1, -1, -1, 1};
+    private static final int[] BISHOP_Y = {1, 1, -1, -1};
+    private static final int[] ROOK_X = {0, 0, -1, 1};
+    private static final int[] ROOK_Y = {-1, 1, 0, 0};
+
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] BISHOP_MAGIC = {
+            0x0020428400408200L, 0x2008010104210004L, 0x02D0009200480190L, 0x0018158B00010100L,
+            0x02C4042132048008L, 0x020082202000C221L, 0x4000421050080009L, 0x0210140202022020L,
+            0x00C0101410042248L, 0x0405204800D48080L, 0x3800C89200420002L, 0x180844124A020440L,
+            0x04403410A8002221L, 0x4040209004200400L, 0x084004020202A204L, 0x3010002104022000L,
+            0x00200240A9110900L, 0x2302800404080210L, 0x0204188800240010L, 0x8048000C01401200L,
+            0x120C001A11040900L, 0x0000401200500440L, 0x00004040840420A0L, 0x0020930822880804L,
+            0x4044401090900161L, 0x0034100015210804L, 0x8004100009010120L, 0x48C8080000820500L,
+            0x0080848004002000L, 0x0801004012005044L, 0x000080902C040400L, 0x0004009005004100L,
+            0x0B103010048A0200L, 0x8004100203181A00L, 0x0800140200100080L, 0x8401010800910040L,
+            0x0840010011290040L, 0x40100214202E1000L, 0x0842040040010840L, 0x0028010040010860L,
+            0x00080202A2051000L, 0x4200841008084204L, 0x0021120110000D02L, 0x48C1004208000084L,
+            0x0010088100414400L, 0x0021101000420580L, 0x0010040558401410L, 0x200C0C82A1050205L,
+            0x0011108820088000L, 0x0001011910120402L, 0x1580008608091248L, 0x8010018020880C02L,
+            0x20A1101032088480L, 0x0080100408082800L, 0x28100401140401C0L, 0x8002102200930012L,
+            0x4001040082080200L, 0x082200A498081808L, 0x000508610080D003L, 0x0052020044842402L,
+            0x4800A00140C84840L, 0x5000000848080820L, 0x0101086004240040L, 0x0028280808005014L
+    };
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final int[] BISHOP_OFFSET = new int[64];
+    private static final long[] BISHOP_TABLE = new long[5248];
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = {
+            0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+            0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+            0x0400800040008021L, 0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+            0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+            0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+            0x0001818014000800L, 0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+            0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+            0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+            0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+            0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L, 0x1240800040800100L,
+            0x0880042000524004L, 0x02C080410206002CL, 0x0801200241050010L, 0x8400080010008080L,
+            0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+            0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+            0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+            0x8044110480002441L, 0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+            0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] ROOK_OFFSET = new int[64];
+    private static final long[] ROOK_TABLE = new long[102400];
+
+    static {
+        int[] knightX = {1, 2, 2, 1, -1, -2, -2, -1};
+        int[] knightY = {2, 1, -1, -2, -2, -1, 1, 2};
+        int[] kingX = {1, 1, 0, -1, -1, -1, 0, 1};
+        int[] kingY = {0, 1, 1, 1, 0, -1, -1, -1};
+        for(int sq = 0; sq < 64; sq++) {
+            KNIGHT[sq] = steps(sq, knightX, knightY);
+            KING[sq] = steps(sq, kingX, kingY);
+            PAWN[Position.LOWER * 64 + sq] = steps(sq, new int[]{-1, 1}, new int[]{-1, -1});
+            PAWN[Position.UPPER * 64 + sq] = steps(sq, new int[]{-1, 1}, new int[]{1, 1});
+        }
+        int[] lineX = {1, 1, 0, -1, -1, -1, 0, 1};
+        int[] lineY = {0, 1, 1, 1, 0, -1, -1, -1};
+        for(int sq = 0; sq < 64; sq++) {
+            for(int dir = 0; dir < lineX.length; dir++) {
+                long between = 0L;
+                int x = Position.getX(sq) + lineX[dir];
+                int y = Position.getY(sq) + lineY[dir];
+                int to = Position.index(x, y);
+                while(to != -1) {
+                    BETWEEN[sq * 64 + to] = between;
+                    between |= 1L << to;
+                    x += lineX[dir];
+                    y += lineY[dir];
+                    to = Position.index(x, y);
+                }
+            }
+        }
+        initializeTable(BISHOP_X, BISHOP_Y, BISHOP_MASK, BISHOP_MAGIC, BISHOP_SHIFT, BISHOP_OFFSET, BISHOP_TABLE);
+        initializeTable(ROOK_X, ROOK_Y, ROOK_MASK, ROOK_MAGIC, ROOK_SHIFT, ROOK_OFFSET, ROOK_TABLE);
+    }
+
+    private Attacks() {
+    }
+
+    /**
+     * Builds the bitboard of the squares reached by single steps from a square, leaving out steps which leave the board.
+     */
+    private static long steps(int sq, int[] stepX, int[] stepY) {
+        long targets = 0L;
+        for(int i = 0; i < stepX.length; i++) {
+            int to = Position.index(Position.getX(sq) + stepX[i], Position.getY(sq) + stepY[i]);
+            if(to != -1) {
+                targets |= 1L << to;
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Builds the bitboard of the squares a slider on a square attacks by walking each direction until it leaves the board or hits a blocker.
+     * Only used to fill the magic tables.
+     */
+    private static long slide(int sq, long blockers, int[] dirX, int[] dirY) {
+        long attacks = 0L;
+        for(int dir = 0; dir < dirX.length; dir++) {
+            int x = Position.getX(sq) + dirX[dir];
+            int y = Position.getY(sq) + dirY[dir];
+            int to = Position.index(x, y);
+            while(to != -1) {
+                attacks |= 1L << to;
+                if((blockers & (1L << to)) != 0) {
+                    break;
+                }
+                x += dirX[dir];
+                y += dirY[dir];
+                to = Position.index(x, y);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Gets the squares whose blockers matter to a slider on a square. The last square of each direction is left out since a piece there
+     * cannot hide anything behind it.
+     */
+    private static long relevantMask(int sq, int[] dirX, int[] dirY) {
+        long mask = 0L;
+        for(int dir = 0; dir < dirX.length; dir++) {
+            int x = Position.getX(sq) + dirX[dir];
+            int y = Position.getY(sq) + dirY[dir];
+            while(Position.index(x + dirX[dir], y + dirY[dir]) != -1) {
+                mask |= 1L << Position.index(x, y);
+                x += dirX[dir];
+                y += dirY[dir];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Fills a slider's lookup table with the attacks of every blocker arrangement on every square.
+     */
+    private static void initializeTable(int[] dirX, int[] dirY, long[] masks, long[] magics, int[] shifts, int[] offsets, long[] table) {
+        int offset = 0;
+        for(int sq = 0; sq < 64; sq++) {
+            long mask = relevantMask(sq, dirX, dirY);
+            int bits = Long.bitCount(mask);
+            masks[sq] = mask;
+            shifts[sq] = 64 - bits;
+            offsets[sq] = offset;
+            //Enumerates every subset of the mask. A slider always attacks at least one square so an empty entry has not been filled yet.
+            long blockers = 0L;
+            do {
+                long attacks = slide(sq, blockers, dirX, dirY);
+                int index = offset + (int) ((blockers * magics[sq]) >>> shifts[sq]);
+                if(table[index] != 0L && table[index] != attacks) {
+                    throw new IllegalStateException("Magic number for square " + sq + " maps two blocker sets to one entry.");
+                }
+                table[index] = attacks;
+                blockers = (blockers - mask) & mask;
+            } while(blockers != 0L);
+            offset += 1 << bits;
+        }
+    }
+
+    /**
+     * Gets the squares a knight attacks.
+     * @param sq - the index of the square the knight is on.
+     * @return a bitboard of the attacked squares.
+     */
+    public static long knight(int sq) {
+        return KNIGHT[sq];
+    }
+
+    /**
+     * Gets the squares a king attacks.
+     * @param sq - the index of the square the king is on.
+     * @return a bitboard of the attacked squares.
+     */
+    public static long king(int sq) {
+        return KING[sq];
+    }
+
+    /**
+     * Gets the squares a pawn attacks.
+     * @param side - the side the pawn belongs to.
+     * @param sq - the index of the square the pawn is on.
+     * @return a bitboard of the attacked squares.
+     */
+    public static long pawn(int side, int sq) {
+        return PAWN[side * 64 + sq];
+    }
+
+    /**
+     * Gets the squares between two squares on the same rank, file or diagonal.
+     * @param from - the index of one square.
+     * @param to - the index of the other square.
+     * @return a bitboard of the squares strictly between them, empty if they do not line up.
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from * 64 + to];
+    }
+
+    /**
+     * Gets the squares a bishop attacks.
+     * @param sq - the index of the square the bishop is on.
+     * @param occupied - a bitboard of the squares holding pieces which block the bishop.
+     * @return a bitboard of the attacked squares, including the first blocker in each direction.
+     */
+    public static long bishop(int sq, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSET[sq] + (int) (((occupied & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    /**
+     * Gets the squares a rook attacks.
+     * @param sq - the index of the square the rook is on.
+     * @param occupied - a bitboard of the squares holding pieces which block the rook.
+     * @return a bitboard of the attacked squares, including the first blocker in each direction.
+     */
+    public static long rook(int sq, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSET[sq] + (int) (((occupied & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    /**
+     * Gets the squares a queen attacks.
+     * @param sq - the index of the square the queen is on.
+     * @param occupied - a bitboard of the squares holding pieces which block the queen.
+     * @return a bitboard of the attacked squares, including the first blocker in each direction.
+     */
+    public static long queen(int sq, long occupied) {
+        return bishop(sq, occupied) | rook(sq, occupied);
+    }
+}
@@ -1,361 +1,668 @@
-import javax.swing.*;
-import java.util.ArrayList;
-
-/**
- * Board class which creates a chess board.
- */
-public class Board {
-
-    private Player upperPlayer;
-    private Player lowerPlayer;
-    private ArrayList<Square> selectables;
-    private ArrayList<Square> checkSquares;
-    private Square[][] grid;
-
-    //Constants for the boundaries of the board.
-    public static final int RIGHT_X_BOUNDARY = 7;
-    public static final int DOWN_Y_BOUNDARY = 7;
-    public static final int LEFT_X_BOUNDARY = 0;
-    public static final int UP_Y_BOUNDARY = 0;
-
-    /**
-     * Constructs a board object and initializes all its components.
-     */
-    public Board() {
-        initialize();
-    }
-
-    /**
-     * Gets the player in the upper half of the board.
-     * @return a Player object representing the upper player.
-     */
-    public Player getUpperPlayer() {
-        return upperPlayer;
-    }
-
-    /**
-     * Gets the player in the lower half of the board.
-     * @return a Player object representing the lower player.
-     */
-    public Player getLowerPlayer() {
-        return lowerPlayer;
-    }
-
-    /**
-     * Initializes an 8 by 8 grid of the board with Square objects representing each block.
-     */
-    public void initializeGrid() {
-        grid = new Square[8][8];
-        selectables = new ArrayList<>();
-        checkSquares = new ArrayList<>();
-        for(int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                grid[i][j] = new Square(i,j);
-            }
-        }
-    }
-
-    /**
-     * Initializes the pieces of each player.
-     */
-    public void initialize() {
-        initializeGrid();
-        ArrayList<Piece> upperPieces = new ArrayList<>();
-        //Initialize all the pawns for player in upper half.
-        Pawn uPawnOne = new Pawn(grid[0][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnTwo = new Pawn(grid[1][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnThree = new Pawn(grid[2][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnFour = new Pawn(grid[3][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnFive = new Pawn(grid[4][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnSix = new Pawn(grid[5][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnSeven = new Pawn(grid[6][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        Pawn uPawnEight = new Pawn(grid[7][1], true, new ImageIcon("pieces/pieceIcons/darkPawn.png"));
-        //Initialize the knights for player in upper half
-        Knight uKnightOne = new Knight(grid[1][0], true, new ImageIcon("pieces/pieceIcons/darkKnight.png"));
-        Knight uKnightTwo = new Knight(grid[6][0], true, new ImageIcon("pieces/pieceIcons/darkKnight.png"));
-        //Initialize the bishops for player in upper half
-        Bishop uBishopOne = new Bishop(grid[2][0], true, new ImageIcon("pieces/pieceIcons/darkBishop.png"));
-        Bishop uBishopTwo = new Bishop(grid[5][0], true, new ImageIcon("pieces/pieceIcons/darkBishop.png"));
-        //Initialize the rooks for player in upper half
-        Rook uRookOne = new Rook(grid[0][0], true, new ImageIcon("pieces/pieceIcons/darkRook.png"));
-        Rook uRookTwo = new Rook(grid[7][0], true, new ImageIcon("pieces/pieceIcons/darkRook.png"));
-        //Initialize the Queen for the player in the upper half
-        Queen uQueen = new Queen(grid[4][0], true, new ImageIcon("pieces/pieceIcons/darkQueen.png"));
-        //Initialize the King for the player in the upper half
-        King uKing = new King(grid[3][0], true, new ImageIcon("pieces/pieceIcons/darkKing.png"));
-
-        //Add them to list and initialize upper player objects
-        upperPieces.add(uPawnOne);
-        upperPieces.add(uPawnTwo);
-        upperPieces.add(uPawnThree);
-        upperPieces.add(uPawnFour);
-        upperPieces.add(uPawnFive);
-        upperPieces.add(uPawnSix);
-        upperPieces.add(uPawnSeven);
-        upperPieces.add(uPawnEight);
-        upperPieces.add(uKnightOne);
-        upperPieces.add(uKnightTwo);
-        upperPieces.add(uBishopOne);
-        upperPieces.add(uBishopTwo);
-        upperPieces.add(uRookOne);
-        upperPieces.add(uRookTwo);
-        upperPieces.add(uQueen);
-        upperPieces.add(uKing);
-
-        upperPlayer = new Player(upperPieces, uKing);
-
-        ArrayList<Piece> lowerPieces = new ArrayList<>();
-        //Initialize all the pawns for player in lower half.
-        Pawn lPawnOne = new Pawn(grid[0][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnTwo = new Pawn(grid[1][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnThree = new Pawn(grid[2][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnFour = new Pawn(grid[3][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnFive = new Pawn(grid[4][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnSix = new Pawn(grid[5][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnSeven = new Pawn(grid[6][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        Pawn lPawnEight = new Pawn(grid[7][6], false, new ImageIcon("pieces/pieceIcons/lightPawn.png"));
-        //Initialize all the knights for player in lower half
-        Knight lKnightOne = new Knight(grid[1][7], false, new ImageIcon("pieces/pieceIcons/lightKnight.png"));
-        Knight lKnightTwo = new Knight(grid[6][7], false, new ImageIcon("pieces/pieceIcons/lightKnight.png"));
-        //Initialize the bishops for player in lower half
-        Bishop lBishopOne = new Bishop(grid[2][7], false, new ImageIcon("pieces/pieceIcons/lightBishop.png"));
-        Bishop lBishopTwo = new Bishop(grid[5][7], false, new ImageIcon("pieces/pieceIcons/lightBishop.png"));
-        //Initialize the rooks for player in lower half
-        Rook lRookOne = new Rook(grid[0][7], false, new ImageIcon("pieces/pieceIcons/lightRook.png"));
-        Rook lRookTwo = new Rook(grid[7][7], false, new ImageIcon("pieces/pieceIcons/lightRook.png"));
-        //Initialize the Queen for the player in the lower half
-        Queen lQueen = new Queen(grid[4][7], false, new ImageIcon("pieces/pieceIcons/lightQueen.png"));
-        //Initialize the King for the player in the lower half
-        King lKing = new King(grid[3][7], false, new ImageIcon("pieces/pieceIcons/lightKing.png"));
-
-        //Add them to list and initialize upper player objects
-        lowerPieces.add(lPawnOne);
-        lowerPieces.add(lPawnTwo);
-        lowerPieces.add(lPawnThree);
-        lowerPieces.add(lPawnFour);
-        lowerPieces.add(lPawnFive);
-        lowerPieces.add(lPawnSix);
-        lowerPieces.add(lPawnSeven);
-        lowerPieces.add(lPawnEight);
-        lowerPieces.add(lKnightOne);
-        lowerPieces.add(lKnightTwo);
-        lowerPieces.add(lBishopOne);
-        lowerPieces.add(lBishopTwo);
-        lowerPieces.add(lRookOne);
-        lowerPieces.add(lRookTwo);
-        lowerPieces.add(lQueen);
-        lowerPieces.add(lKing);
-
-        lowerPlayer = new Player(lowerPieces, lKing);
-        lowerPlayer.setTurn(true);
-    }
-
-    /**
-     * Gets the gridlayout of the board.
-     * @return a 2D array representation of the board.
-     */
-    public Square[][] getGrid() {
-        return grid;
-    }
-
-    /**
-     * Iterates through all the moves of the piece occupying this square and finds all valid squares a piece can land for this user turn.
-     * @param square - the square which was selected and occupying a piece.
-     * @return an ArrayList which contains all the squares a player can select a piece to move to.
-     */
-    public ArrayList<Square> processSelectables(Square square) {
-        ArrayList<Square> moves = square.getPiece().getPossibleMoves(this);
-        for (Square move : moves) {
-            for (Square gridCols[] : grid) {
-                for (Square gridRow : gridCols) {
-                    if (square.getY() + move.getY() == gridRow.getY() && square.getX() + move.getX() == gridRow.getX()) {
-                        selectables.add(gridRow);
-                    }
-                }
-            }
-        }
-        return selectables;
-    }
-
-    public  ArrayList<Square> getSelectables() {
-        return selectables;
-    }
-
-    public void computeCheckSquares() {
-        ArrayList<Square> allFoeSelectables = new ArrayList<>();
-        if(upperPlayer.isTurn()) {
-            checkSquares = (ArrayList<Square>) processSelectables(upperPlayer.getKing().getPosition()).clone();
-            selectables.clear();
-            for(Piece piece:lowerPlayer.getPieces()) {
-                allFoeSelectables.addAll(processSelectables(piece.getPosition()));
-                selectables.clear();
-            }
-            for(Square pos: allFoeSelectables) {
-                if(checkSquares.contains(pos)) {
-                    checkSquares.remove(pos);
-                }
-            }
-        }
-        else {
-            checkSquares = (ArrayList<Square>) processSelectables(lowerPlayer.getKing().getPosition()).clone();
-            selectables.clear();
-            for(Piece piece:upperPlayer.getPieces()) {
-                allFoeSelectables.addAll(processSelectables(piece.getPosition()));
-                selectables.clear();
-            }
-            for(Square pos: allFoeSelectables) {
-                if(checkSquares.contains(pos)) {
-                    checkSquares.remove(pos);
-                }
-            }
-        }
-
-    }
-
-    public ArrayList<Square> getCheckSquares() {
-        return checkSquares;
-    }
-
-    public void checkForCheck() {
-        ArrayList<Square> allSelectables = new ArrayList<>();
-        if(upperPlayer.isTurn()) {
-            for(Piece piece:lowerPlayer.getPieces()) {
-                if(processSelectables(piece.getPosition()).contains(upperPlayer.getKing().getPosition())) {
-                    upperPlayer.setCheck(true);
-                }
-                allSelectables.addAll(selectables);
-                selectables.clear();
-            }
-        }
-        else {
-            for(Piece piece:upperPlayer.getPieces()) {
-                if(processSelectables(piece.getPosition()).contains(lowerPlayer.getKing().getPosition())) {
-                    lowerPlayer.setCheck(true);
-                }
-                allSelectables.addAll(selectables);
-                selectables.clear();
-            }
-        }
-        computeCheckSquares();
-        if(checkSquares.size() == 0 && upperPlayer.isCheck()) {
-            upperPlayer.setCheckMate(true);
-        }
-        else if(checkSquares.size() == 0 && lowerPlayer.isCheck()) {
-            lowerPlayer.setCheckMate(true);
-        }
-    }
-
-    /**
-     * Moves a piece to a new position on the board.
-     * @param piece - the piece to be moved.
-     * @param newPos - the new position it will be moved to.
-     */
-    public void move(Piece piece, Square newPos) {
-        if(newPos.hasPiece()) {
-            if(upperPlayer.isTurn()) {
-                lowerPlayer.remove(newPos.getPiece());
-            }
-            else {
-                upperPlayer.remove(newPos.getPiece());
-            }
-        }
-        switchStates();
-        //Sets the piece to occupy the new position.
-        newPos.setPiece(piece);
-        piece.getPosition().setPiece(null);
-        piece.updatePos(newPos);
-        checkSquares.clear();
-        checkForCheck();
-        //Prepare the selectables list to be used again in the future.
-        selectables.clear();
-    }
-
-    public void switchStates() {
-        //Resets the check state for any states that were set as true because if the
-        // process got this far the we know that the player under check got out of check.
-        if(upperPlayer.isTurn()) {
-            upperPlayer.setCheck(false);
-            upperPlayer.setTurn(false);
-            lowerPlayer.setTurn(true);
-        }
-        else {
-            lowerPlayer.setCheck(false);
-            lowerPlayer.setTurn(false);
-            upperPlayer.setTurn(true);
-        }
-    }
-
-    public void reset() {
-        initialize();
-    }
-
-    /**
-     * Checks to see if the square the mouse clicked is part of a piece's move set.
-     * @param selection - the selection the mouse made.
-     * @return a boolean value denoting which it is a move. (True being yes).
-     */
-    public boolean isMoveSelection(Square selection) {
-        if(selectables.size() != 0) {
-            if(selectables.contains(selection)) {
-                return true;
-            }
-            return false;
-        }
-        else {
-            return false;
-        }
-    }
-
-    /**
-     * Checks to see if a square holds a piece.
-     * @param s - the square to be checked.
-     * @return a boolean value denoting whether a Square object holds a chess piece. (True being yes.)
-     */
-    public boolean isOccupied(Square s) {
-        for (Piece piece : upperPlayer.getPieces()) {
-            if (s.equals(piece.getPosition())) {
-                return true;
-            }
-        }
-        for (Piece piece : lowerPlayer.getPieces()) {
-            if (s.equals(piece.getPosition())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Checks to if a square holds a foe chess piece.
-     * @param s - the square object to be checked.
-     * @param isUpper - a boolean value denoting if foe means up or down. (True being up).
-     * @return a boolean value denoting if the square holds a foe piece. (True if yes).
-     */
-    public boolean isFoe(Square s, boolean isUpper) {
-        if(isUpper) {
-            for (Piece piece : lowerPlayer.getPieces()) {
-                if (s.equals(piece.getPosition())) {
-                    return true;
-                }
-            }
-        }
-        else {
-            for (Piece piece : upperPlayer.getPieces()) {
-                if (s.equals(piece.getPosition())) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    public boolean isFoeKing(Square s, boolean isUpper) {
-        if(isUpper && s.equals(lowerPlayer.getKing().getPosition())) {
-            return true;
-        }
-        else if(!isUpper && s.equals(upperPlayer.getKing().getPosition())) {
-            return true;
-        }
-        return false;
-    }
-}
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Board class which creates a chess board.
+ */
+public class Board {
+
+    private Player upperPlayer;
+    private Player lowerPlayer;
+    private ArrayList<Square> selectables;
+    //Bitboard index of the square whose moves were last put in selectables, or -1 if none were.
+    private int selectedFrom;
+    private ArrayList<Square> checkSquares;
+    private Square[][] grid;
+    private Position position;
+    private int[] moveBuffer;
+    //Buffer static exchanges are worked out in, kept apart from the move buffer so the two never overwrite each other.
+    private int[] exchange;
+    //Legal moves of the side to move, computed once per position and kept with the target squares of each origin square.
+    private int[] legalMoves;
+    private int legalMoveCount;
+    private long[] legalTargets;
+    private long legalMovesHash;
+    private boolean legalMovesCached;
+    private int status;
+    //Undo records of the moves made with makeMove, holding the captured piece and the players' turn and check state before the move.
+    private Piece[] capturedPieces;
+    private int[] playerStates;
+    private int undoCount;
+    //Moves since the last capture or pawn move, and the number of the move being played, counting a move by each player as one.
+    private int halfmoveClock;
+    private int fullmoveNumber;
+
+    //Constants for the boundaries of the board.
+    public static final int RIGHT_X_BOUNDARY = 7;
+    public static final int DOWN_Y_BOUNDARY = 7;
+    public static final int LEFT_X_BOUNDARY = 0;
+    public static final int UP_Y_BOUNDARY = 0;
+
+    //Bits of the player state saved in an undo record.
+    private static final int UPPER_TURN = 1;
+    private static final int UPPER_CHECK = 2;
+    private static final int LOWER_CHECK = 4;
+    private static final int UPPER_CHECK_MATE = 8;
+    private static final int LOWER_CHECK_MATE = 16;
+    //The halfmove clock is kept in the bits of an undo record above the player state.
+    private static final int CLOCK_SHIFT = 5;
+
+    //The starting position in Forsyth-Edwards Notation.
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * Constructs a board object and initializes all its components.
+     */
+    public Board() {
+        this(START_FEN);
+    }
+
+    /**
+     * Constructs a board object set up with a position in Forsyth-Edwards Notation.
+     * @param fen - the position to set up.
+     * @throws IllegalArgumentException if the string is not a position this board can hold.
+     */
+    public Board(String fen) {
+        moveBuffer = new int[MoveGenerator.MAX_MOVES];
+        exchange = new int[StaticExchange.MAX_CAPTURES];
+        legalMoves = new int[MoveGenerator.MAX_MOVES];
+        legalTargets = new long[64];
+        capturedPieces = new Piece[256];
+        playerStates = new int[256];
+        loadFen(fen);
+    }
+
+    /**
+     * Gets the player in the upper half of the board.
+     * @return a Player object representing the upper player.
+     */
+    public Player getUpperPlayer() {
+        return upperPlayer;
+    }
+
+    /**
+     * Gets the player in the lower half of the board.
+     * @return a Player object representing the lower player.
+     */
+    public Player getLowerPlayer() {
+        return lowerPlayer;
+    }
+
+    /**
+     * Seats a new player in the upper half of the board, such as an engine taking over the upper pieces.
+     * @param upperPlayer - the player which takes over the upper pieces.
+     */
+    public void setUpperPlayer(Player upperPlayer) {
+        this.upperPlayer = upperPlayer;
+    }
+
+    /**
+     * Seats a new player in the lower half of the board, such as an engine taking over the lower pieces.
+     * @param lowerPlayer - the player which takes over the lower pieces.
+     */
+    public void setLowerPlayer(Player lowerPlayer) {
+        this.lowerPlayer = lowerPlayer;
+    }
+
+    /**
+     * Gets the bitboard position the board delegates its queries to.
+     * @return the Position object of this board.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the Zobrist hash of the current position, which covers the pieces, the side to move and the pawns which have not moved yet.
+     * @return a 64-bit key which is the same for every identical position.
+     */
+    public long hash() {
+        return position.getHash();
+    }
+
+    /**
+     * Gets the Zobrist hash of the pawns on the board, which only changes when a pawn moves or is captured.
+     * @return a 64-bit key which is the same for every identical pawn structure.
+     */
+    public long pawnHash() {
+        return position.getPawnHash();
+    }
+
+    /**
+     * Initializes an 8 by 8 grid of the board with Square objects representing each block.
+     */
+    public void initializeGrid() {
+        grid = new Square[8][8];
+        selectables = new ArrayList<>();
+        checkSquares = new ArrayList<>();
+        for(int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                grid[i][j] = new Square(i,j);
+            }
+        }
+    }
+
+    /**
+     * Initializes the pieces of each player.
+     */
+    public void initialize() {
+        loadFen(START_FEN);
+    }
+
+    /**
+     * Sets the board up from a position in Forsyth-Edwards Notation, replacing the grid, both players' pieces and the side to move. The
+     * players themselves stay seated, so an engine playing one side still plays it after the board is reset.
+     * The whole string is checked before anything is replaced, so a string which is rejected leaves the board as it was.
+     * The lower player plays white, whose pieces are the upper case letters, and the files run from a on the right to h on the left as the
+     * lower player sees the board. Pawns on their home row may still move two squares, the others may not. The castling and en passant
+     * fields are ignored since neither is played on this board, and the move clocks default to 0 and 1 when left out.
+     * @param fen - the position to set up.
+     * @throws IllegalArgumentException if the string is not a position this board can hold.
+     */
+    public void loadFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if(fields.length < 2) {
+            throw new IllegalArgumentException("A FEN needs at least the pieces and the side to move: " + fen);
+        }
+        String[] rows = fields[0].split("/");
+        if(rows.length != 8) {
+            throw new IllegalArgumentException("A FEN needs 8 ranks, not " + rows.length + ": " + fen);
+        }
+        if(!fields[1].equals("w") && !fields[1].equals("b")) {
+            throw new IllegalArgumentException("The side to move must be w or b, not " + fields[1] + ": " + fen);
+        }
+        Square[][] newGrid = new Square[8][8];
+        for(int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                newGrid[i][j] = new Square(i,j);
+            }
+        }
+        ArrayList<Piece> upperPieces = new ArrayList<>();
+        ArrayList<Piece> lowerPieces = new ArrayList<>();
+        Piece uKing = null;
+        Piece lKing = null;
+        for(int y = 0; y < 8; y++) {
+            int x = 7;
+            for(char c:rows[y].toCharArray()) {
+                if(c >= '1' && c <= '8') {
+                    x -= c - '0';
+                    continue;
+                }
+                if(x < 0) {
+                    throw new IllegalArgumentException("Rank " + (8 - y) + " of the FEN has more than 8 squares: " + fen);
+                }
+                boolean up = Character.isLowerCase(c);
+                Piece piece = createPiece(Character.toLowerCase(c), newGrid[x][y], up);
+                if(piece == null) {
+                    throw new IllegalArgumentException("Unknown piece " + c + " in the FEN: " + fen);
+                }
+                if(piece instanceof Pawn) {
+                    //Pawns are not promoted on this board, so none can ever reach the first or last rank.
+                    if(y == UP_Y_BOUNDARY || y == DOWN_Y_BOUNDARY) {
+                        throw new IllegalArgumentException("Pawns may not stand on rank " + (8 - y) + ": " + fen);
+                    }
+                    ((Pawn) piece).setStart(y == (up ? 1 : 6));
+                }
+                else if(piece instanceof King) {
+                    if((up ? uKing : lKing) != null) {
+                        throw new IllegalArgumentException("The FEN has more than one " + (up ? "black" : "white") + " king: " + fen);
+                    }
+                    if(up) {
+                        uKing = piece;
+                    }
+                    else {
+                        lKing = piece;
+                    }
+                }
+                (up ? upperPieces : lowerPieces).add(piece);
+                x--;
+            }
+            if(x != -1) {
+                throw new IllegalArgumentException("Rank " + (8 - y) + " of the FEN does not have 8 squares: " + fen);
+            }
+        }
+        if(uKing == null || lKing == null) {
+            throw new IllegalArgumentException("The FEN needs a king for each side: " + fen);
+        }
+        int halfmoves;
+        int fullmoves;
+        try {
+            halfmoves = fields.length > 4 ? Integer.parseInt(fields[4]) : 0;
+            fullmoves = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+        }
+        catch(NumberFormatException e) {
+            throw new IllegalArgumentException("The move clocks of the FEN must be numbers: " + fen, e);
+        }
+        if(halfmoves < 0 || fullmoves < 1) {
+            throw new IllegalArgumentException("The halfmove clock may not be negative and the move number must be at least 1: " + fen);
+        }
+        boolean upperTurn = fields[1].equals("b");
+        Position newPosition = buildPosition(upperPieces, lowerPieces, upperTurn);
+        if(newPosition.isInCheck(1 - newPosition.getSideToMove())) {
+            throw new IllegalArgumentException("The side which has just moved may not be left in check: " + fen);
+        }
+        //Nothing has been replaced until here, so the board only changes once the whole string has been accepted.
+        grid = newGrid;
+        selectables = new ArrayList<>();
+        selectedFrom = -1;
+        checkSquares = new ArrayList<>();
+        if(upperPlayer == null) {
+            upperPlayer = new Player(upperPieces, uKing);
+            lowerPlayer = new Player(lowerPieces, lKing);
+        }
+        else {
+            //The players already seated, such as an engine, keep their seats and take over the new pieces.
+            upperPlayer.setPieces(upperPieces, uKing);
+            lowerPlayer.setPieces(lowerPieces, lKing);
+        }
+        upperPlayer.setTurn(upperTurn);
+        lowerPlayer.setTurn(!upperTurn);
+        halfmoveClock = halfmoves;
+        fullmoveNumber = fullmoves;
+        usePosition(newPosition);
+        checkForCheck();
+    }
+
+    /**
+     * Creates a piece from its letter in Forsyth-Edwards Notation.
+     */
+    private static Piece createPiece(char letter, Square square, boolean up) {
+        switch(letter) {
+            case 'p':
+                return new Pawn(square, up);
+            case 'n':
+                return new Knight(square, up);
+            case 'b':
+                return new Bishop(square, up);
+            case 'r':
+                return new Rook(square, up);
+            case 'q':
+                return new Queen(square, up);
+            case 'k':
+                return new King(square, up);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Writes the board out in Forsyth-Edwards Notation. The castling and en passant fields are always empty since neither is played on this board.
+     * @return the FEN of the current position.
+     */
+    public String toFen() {
+        StringBuilder fen = new StringBuilder();
+        for(int y = 0; y < 8; y++) {
+            int empty = 0;
+            for(int x = 7; x >= 0; x--) {
+                Piece piece = grid[x][y].getPiece();
+                if(piece == null) {
+                    empty++;
+                    continue;
+                }
+                if(empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                char letter = "pnbrqk".charAt(piece.getType());
+                fen.append(piece.isUp() ? letter : Character.toUpperCase(letter));
+            }
+            if(empty > 0) {
+                fen.append(empty);
+            }
+            if(y < 7) {
+                fen.append('/');
+            }
+        }
+        fen.append(upperPlayer.isTurn() ? " b" : " w").append(" - - ").append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return fen.toString();
+    }
+
+    /**
+     * Makes a position the one the board plays on, with no moves to take back.
+     */
+    private void usePosition(Position newPosition) {
+        position = newPosition;
+        undoCount = 0;
+        legalMovesCached = false;
+        status = MoveGenerator.IN_PLAY;
+    }
+
+    /**
+     * Builds a bitboard position holding the given pieces.
+     */
+    private static Position buildPosition(ArrayList<Piece> upperPieces, ArrayList<Piece> lowerPieces, boolean upperTurn) {
+        Position built = new Position();
+        for(Piece piece:upperPieces) {
+            addToPosition(built, piece);
+        }
+        for(Piece piece:lowerPieces) {
+            addToPosition(built, piece);
+        }
+        built.setSideToMove(upperTurn ? Position.UPPER : Position.LOWER);
+        return built;
+    }
+
+    private static void addToPosition(Position built, Piece piece) {
+        int sq = indexOf(piece.getPosition());
+        built.put(sq, Position.sideOf(piece.isUp()), piece.getType());
+        if(piece instanceof Pawn && ((Pawn) piece).isStart()) {
+            built.setPawnStart(sq);
+        }
+    }
+
+    /**
+     * Gets the bitboard index of a square.
+     * @param s - the square to convert.
+     * @return the index of the square, or -1 if it lies off the board.
+     */
+    public static int indexOf(Square s) {
+        return Position.index(s.getX(), s.getY());
+    }
+
+    /**
+     * Gets the gridlayout of the board.
+     * @return a 2D array representation of the board.
+     */
+    public Square[][] getGrid() {
+        return grid;
+    }
+
+    /**
+     * Finds all valid squares the piece on this square can land on for this user turn. The squares are read from the legal moves
+     * of the side to move, which are only computed once per position, so while the player is in check only the moves which get out of it
+     * are offered.
+     * @param square - the square which was selected and occupying a piece.
+     * @return an ArrayList which contains all the squares a player can select a piece to move to.
+     */
+    public ArrayList<Square> processSelectables(Square square) {
+        cacheLegalMoves();
+        selectedFrom = indexOf(square);
+        addSquares(legalTargets[selectedFrom], selectables);
+        return selectables;
+    }
+
+    public  ArrayList<Square> getSelectables() {
+        return selectables;
+    }
+
+    /**
+     * Computes the legal moves of the side to move unless they were already computed for this position.
+     */
+    private void cacheLegalMoves() {
+        if(legalMovesCached && legalMovesHash == position.getHash()) {
+            return;
+        }
+        Arrays.fill(legalTargets, 0L);
+        legalMoveCount = MoveGenerator.generateLegal(position, legalMoves, 0);
+        for(int i = 0; i < legalMoveCount; i++) {
+            legalTargets[Move.getFrom(legalMoves[i])] |= 1L << Move.getTo(legalMoves[i]);
+        }
+        legalMovesHash = position.getHash();
+        legalMovesCached = true;
+    }
+
+    /**
+     * Adds the grid squares of every bit of a bitboard to a list.
+     */
+    private void addSquares(long squares, ArrayList<Square> list) {
+        while(squares != 0) {
+            int sq = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            list.add(grid[Position.getX(sq)][Position.getY(sq)]);
+        }
+    }
+
+    /**
+     * Computes the squares the king of the player to move can go to.
+     */
+    public void computeCheckSquares() {
+        cacheLegalMoves();
+        checkSquares.clear();
+        Player player = upperPlayer.isTurn() ? upperPlayer : lowerPlayer;
+        addSquares(legalTargets[indexOf(player.getKing().getPosition())], checkSquares);
+    }
+
+    public ArrayList<Square> getCheckSquares() {
+        return checkSquares;
+    }
+
+    /**
+     * Sets the player to move in check if a foe piece attacks their king, and in check mate if they then have no legal move with any piece.
+     * Also works out whether the game ended in a stalemate.
+     */
+    public void checkForCheck() {
+        Player player = upperPlayer.isTurn() ? upperPlayer : lowerPlayer;
+        status = MoveGenerator.getStatus(position, moveBuffer);
+        if(position.isInCheck(position.getSideToMove())) {
+            player.setCheck(true);
+            computeCheckSquares();
+        }
+        if(status == MoveGenerator.CHECKMATE) {
+            player.setCheckMate(true);
+        }
+    }
+
+    /**
+     * Gets the state of the game after the last move.
+     * @return MoveGenerator.IN_PLAY, MoveGenerator.CHECKMATE or MoveGenerator.STALEMATE.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Moves a piece to a new position on the board and checks whether the move put the other player in check.
+     * @param piece - the piece to be moved.
+     * @param newPos - the new position it will be moved to.
+     */
+    public void move(Piece piece, Square newPos) {
+        makeMove(piece, newPos);
+        checkSquares.clear();
+        checkForCheck();
+        //Prepare the selectables list to be used again in the future.
+        selectables.clear();
+    }
+
+    /**
+     * Moves a piece to a new position on the board so that it can be taken back with unmakeMove. Unlike move it does not look for check,
+     * which leaves that to the caller when exploring positions.
+     * @param piece - the piece to be moved.
+     * @param newPos - the new position it will be moved to.
+     */
+    public void makeMove(Piece piece, Square newPos) {
+        int from = indexOf(piece.getPosition());
+        int to = indexOf(newPos);
+        int flags = 0;
+        int capturedType = 0;
+        Piece captured = newPos.getPiece();
+        if(captured != null) {
+            flags |= Move.CAPTURE;
+            capturedType = captured.getType();
+            if(captured.isUp()) {
+                upperPlayer.remove(captured);
+            }
+            else {
+                lowerPlayer.remove(captured);
+            }
+        }
+        if(piece.getType() == Piece.PAWN && Math.abs(Position.getY(to) - Position.getY(from)) == 2) {
+            flags |= Move.DOUBLE_PUSH;
+        }
+        if(undoCount == capturedPieces.length) {
+            capturedPieces = Arrays.copyOf(capturedPieces, undoCount * 2);
+            playerStates = Arrays.copyOf(playerStates, undoCount * 2);
+        }
+        capturedPieces[undoCount] = captured;
+        playerStates[undoCount] = savePlayerStates();
+        undoCount++;
+        halfmoveClock = captured != null || piece.getType() == Piece.PAWN ? 0 : halfmoveClock + 1;
+        if(piece.isUp()) {
+            fullmoveNumber++;
+        }
+        position.makeMove(Move.encode(from, to, piece.getType(), capturedType, flags));
+        switchStates();
+        //Sets the piece to occupy the new position.
+        newPos.setPiece(piece);
+        piece.getPosition().setPiece(null);
+        piece.updatePos(newPos);
+    }
+
+    /**
+     * Takes back the last move made with makeMove or move, restoring the captured piece and the players' turn and check state.
+     */
+    public void unmakeMove() {
+        int move = position.unmakeMove();
+        undoCount--;
+        Square fromPos = grid[Position.getX(Move.getFrom(move))][Position.getY(Move.getFrom(move))];
+        Square toPos = grid[Position.getX(Move.getTo(move))][Position.getY(Move.getTo(move))];
+        Piece piece = toPos.getPiece();
+        fromPos.setPiece(piece);
+        piece.updatePos(fromPos);
+        if(piece instanceof Pawn) {
+            ((Pawn) piece).setStart(position.isPawnStart(Move.getFrom(move)));
+        }
+        Piece captured = capturedPieces[undoCount];
+        capturedPieces[undoCount] = null;
+        if(captured != null) {
+            toPos.setPiece(captured);
+            if(captured.isUp()) {
+                upperPlayer.add(captured);
+            }
+            else {
+                lowerPlayer.add(captured);
+            }
+        }
+        restorePlayerStates(playerStates[undoCount]);
+        if(piece.isUp()) {
+            fullmoveNumber--;
+        }
+        checkSquares.clear();
+        if(upperPlayer.isCheck() || lowerPlayer.isCheck()) {
+            computeCheckSquares();
+        }
+        status = MoveGenerator.IN_PLAY;
+        selectables.clear();
+    }
+
+    /**
+     * Packs the turn and check state of both players and the halfmove clock into the bits of an undo record.
+     */
+    private int savePlayerStates() {
+        int state = 0;
+        if(upperPlayer.isTurn()) { state |= UPPER_TURN; }
+        if(upperPlayer.isCheck()) { state |= UPPER_CHECK; }
+        if(lowerPlayer.isCheck()) { state |= LOWER_CHECK; }
+        if(upperPlayer.isCheckMate()) { state |= UPPER_CHECK_MATE; }
+        if(lowerPlayer.isCheckMate()) { state |= LOWER_CHECK_MATE; }
+        return state | (halfmoveClock << CLOCK_SHIFT);
+    }
+
+    /**
+     * Restores the turn and check state of both players and the halfmove clock from the bits of an undo record.
+     */
+    private void restorePlayerStates(int state) {
+        upperPlayer.setTurn((state & UPPER_TURN) != 0);
+        lowerPlayer.setTurn((state & UPPER_TURN) == 0);
+        upperPlayer.setCheck((state & UPPER_CHECK) != 0);
+        lowerPlayer.setCheck((state & LOWER_CHECK) != 0);
+        upperPlayer.setCheckMate((state & UPPER_CHECK_MATE) != 0);
+        lowerPlayer.setCheckMate((state & LOWER_CHECK_MATE) != 0);
+        halfmoveClock = state >>> CLOCK_SHIFT;
+    }
+
+    public void switchStates() {
+        //Resets the check state for any states that were set as true because if the
+        // process got this far the we know that the player under check got out of check.
+        if(upperPlayer.isTurn()) {
+            upperPlayer.setCheck(false);
+            upperPlayer.setTurn(false);
+            lowerPlayer.setTurn(true);
+        }
+        else {
+            lowerPlayer.setCheck(false);
+            lowerPlayer.setTurn(false);
+            upperPlayer.setTurn(true);
+        }
+    }
+
+    public void reset() {
+        initialize();
+    }
+
+    /**
+     * Checks to see if the square the mouse clicked is part of a piece's move set.
+     * @param selection - the selection the mouse made.
+     * @return a boolean value denoting which it is a move. (True being yes).
+     */
+    public boolean isMoveSelection(Square selection) {
+        //The shown squares are the targets of the cached legal moves from the selected square, so the selection is looked up there.
+        if(selectables.size() != 0 && selectedFrom != -1) {
+            cacheLegalMoves();
+            int sq = indexOf(selection);
+            return sq != -1 && (legalTargets[selectedFrom] & 1L << sq) != 0;
+        }
+        else {
+            return false;
+        }
+    }
+
+    /**
+     * Checks to see if a square holds a piece.
+     * @param s - the square to be checked.
+     * @return a boolean value denoting whether a Square object holds a chess piece. (True being yes.)
+     */
+    public boolean isOccupied(Square s) {
+        int sq = indexOf(s);
+        return sq != -1 && position.isOccupied(sq);
+    }
+
+    /**
+     * Checks to if a square holds a foe chess piece.
+     * @param s - the square object to be checked.
+     * @param isUpper - a boolean value denoting if foe means up or down. (True being up).
+     * @return a boolean value denoting if the square holds a foe piece. (True if yes).
+     */
+    public boolean isFoe(Square s, boolean isUpper) {
+        int sq = indexOf(s);
+        return sq != -1 && position.isSide(sq, Position.sideOf(!isUpper));
+    }
+
+    /**
+     * Checks to see if a square is attacked by the pieces of one player.
+     * @param s - the square to be checked.
+     * @param byUpper - a boolean value denoting whose pieces attack. (True being up).
+     * @return a boolean value denoting if the square is attacked. (True if yes).
+     */
+    public boolean isSquareAttacked(Square s, boolean byUpper) {
+        int sq = indexOf(s);
+        return sq != -1 && position.isSquareAttacked(sq, Position.sideOf(byUpper));
+    }
+
+    /**
+     * Works out the material a piece wins or loses by moving to a square once every recapture on that square has been played out.
+     * @param piece - the piece to be moved.
+     * @param newPos - the square it would move to.
+     * @return the material won in centipawns, negative if the move loses material.
+     */
+    public int exchangeValue(Piece piece, Square newPos) {
+        Piece captured = newPos.getPiece();
+        int move = Move.encode(indexOf(piece.getPosition()), indexOf(newPos), piece.getType(),
+                captured == null ? 0 : captured.getType(), captured == null ? 0 : Move.CAPTURE);
+        return StaticExchange.evaluate(position, move, exchange);
+    }
+
+    /**
+     * Checks to see if the piece on a square can be won by the other player through some capture of it.
+     * @param s - the square to be checked.
+     * @return a boolean value denoting if the piece is hanging. (True if yes).
+     */
+    public boolean isHanging(Square s) {
+        int sq = indexOf(s);
+        return sq != -1 && StaticExchange.isHanging(position, sq, exchange);
+    }
+
+    public boolean isFoeKing(Square s, boolean isUpper) {
+        int sq = indexOf(s);
+        return sq != -1 && position.getPieceAt(sq) == Position.sideOf(!isUpper) * 6 + Piece.KING;
+    }
+}
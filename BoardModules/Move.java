@@ -0,0 +1,84 @@
+/**
+ * Packs a move into a single int so move lists can be kept in reusable int arrays instead of lists of Square objects.
+ * Bits 0-5 hold the square the piece moves from, bits 6-11 the square it moves to, bits 12-14 the type of the moving piece,
+ * bits 15-17 the type of the captured piece and the bits above that hold the flags.
+ */
+public class Move {
+
+    //Constant for the absence of a move. No move can go from a square to itself so it never clashes with a real move.
+    public static final int NONE = 0;
+
+    //Flags which can be set on a move.
+    public static final int CAPTURE = 1 << 18;
+    public static final int DOUBLE_PUSH = 1 << 19;
+
+    private Move() {
+    }
+
+    /**
+     * Packs the parts of a move into an int.
+     * @param from - the index of the square the piece moves from.
+     * @param to - the index of the square the piece moves to.
+     * @param piece - the type of the moving piece.
+     * @param captured - the type of the captured piece, ignored unless the CAPTURE flag is set.
+     * @param flags - the flags of the move.
+     * @return the packed move.
+     */
+    public static int encode(int from, int to, int piece, int captured, int flags) {
+        return from | (to << 6) | (piece << 12) | (captured << 15) | flags;
+    }
+
+    /**
+     * Gets the square a move starts from.
+     * @param move - the packed move.
+     * @return the index of the square.
+     */
+    public static int getFrom(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Gets the square a move lands on.
+     * @param move - the packed move.
+     * @return the index of the square.
+     */
+    public static int getTo(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Gets the type of the piece making a move.
+     * @param move - the packed move.
+     * @return the piece type constant.
+     */
+    public static int getPiece(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * Gets the type of the piece a move captures.
+     * @param move - the packed move.
+     * @return the piece type constant, only meaningful if the move is a capture.
+     */
+    public static int getCaptured(int move) {
+        return (move >>> 15) & 7;
+    }
+
+    /**
+     * Checks to see if a move captures a piece.
+     * @param move - the packed move.
+     * @return a boolean value denoting whether the move is a capture. (True being yes).
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks to see if a move is the two square first move of a pawn.
+     * @param move - the packed move.
+     * @return a boolean value denoting whether the move is a double push. (True being yes).
+     */
+    public static boolean isDoublePush(int move) {
+        return (move & DOUBLE_PUSH) != 0;
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * Generates the moves of a position into a caller owned int array of packed moves so that no objects are created while generating.
+ * The moves follow the same rules as Piece.getPossibleMoves.
+ */
+public class MoveGenerator {
+
+    //The most moves a side can have in any position, used to size move buffers.
+    public static final int MAX_MOVES = 256;
+
+    //Constants for the state of the game in a position.
+    public static final int IN_PLAY = 0;
+    public static final int CHECKMATE = 1;
+    public static final int STALEMATE = 2;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Generates the moves of every piece of one side.
+     * @param position - the position to generate moves for.
+     * @param side - the side whose moves are generated.
+     * @param moves - the buffer the moves are written to.
+     * @param start - the index in the buffer to start writing at.
+     * @return the index in the buffer after the last move written.
+     */
+    public static int generate(Position position, int side, int[] moves, int start) {
+        int count = start;
+        long own = position.getSide(side);
+        while(own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            count = generateFrom(position, from, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Generates the moves of the piece on one square.
+     * @param position - the position to generate moves for.
+     * @param from - the index of the square holding the piece.
+     * @param moves - the buffer the moves are written to.
+     * @param start - the index in the buffer to start writing at.
+     * @return the index in the buffer after the last move written.
+     */
+    public static int generateFrom(Position position, int from, int[] moves, int start) {
+        return generateFrom(position, from, -1L, moves, start);
+    }
+
+    /**
+     * Generates the moves of the piece on one square which land on one of the given squares.
+     */
+    private static int generateFrom(Position position, int from, long mask, int[] moves, int start) {
+        int side = position.getSideAt(from);
+        long occupied = position.getOccupied();
+        switch(position.getTypeAt(from)) {
+            case Piece.PAWN:
+                return generatePawn(position, from, side, mask, moves, start);
+            case Piece.KNIGHT:
+                return generateTargets(position, from, side, Piece.KNIGHT, Attacks.knight(from) & mask, moves, start);
+            case Piece.BISHOP:
+                return generateTargets(position, from, side, Piece.BISHOP, Attacks.bishop(from, occupied) & mask, moves, start);
+            case Piece.ROOK:
+                return generateTargets(position, from, side, Piece.ROOK, Attacks.rook(from, occupied) & mask, moves, start);
+            case Piece.QUEEN:
+                return generateTargets(position, from, side, Piece.QUEEN, Attacks.queen(from, occupied) & mask, moves, start);
+            case Piece.KING:
+                return generateTargets(position, from, side, Piece.KING, Attacks.king(from) & mask, moves, start);
+            default:
+                return start;
+        }
+    }
+
+    /**
+     * Generates only the legal moves of the side to move, so no move has to be made and taken back to see if it leaves the king attacked.
+     * The pieces giving check and the pieces pinned to the king are found first: in double check only the king may move, in single check
+     * the other pieces may only capture the checker or block its ray, and a pinned piece may only move along the line of its pin.
+     * King moves are kept if the target square is not attacked once the king has left its square.
+     * @param position - the position to generate moves for.
+     * @param moves - the buffer the moves are written to.
+     * @param start - the index in the buffer to start writing at.
+     * @return the index in the buffer after the last move written.
+     */
+    public static int generateLegal(Position position, int[] moves, int start) {
+        return generateLegal(position, moves, start, -1L);
+    }
+
+    /**
+     * Generates only the legal moves of the side to move which land on one of the given squares, such as the foe's pieces to get just the
+     * captures or the empty squares to get just the quiet moves.
+     * @param position - the position to generate moves for.
+     * @param moves - the buffer the moves are written to.
+     * @param start - the index in the buffer to start writing at.
+     * @param targets - the squares the moves may land on.
+     * @return the index in the buffer after the last move written.
+     */
+    public static int generateLegal(Position position, int[] moves, int start, long targets) {
+        return generateLegal(position, moves, start, targets, -1L);
+    }
+
+    /**
+     * Generates only the legal moves of the side to move made by a piece on one of the given squares which land on one of the given targets,
+     * such as the moves of one piece type onto one square when reading a move in algebraic notation.
+     * @param position - the position to generate moves for.
+     * @param moves - the buffer the moves are written to.
+     * @param start - the index in the buffer to start writing at.
+     * @param targets - the squares the moves may land on.
+     * @param sources - the squares the moves may start from.
+     * @return the index in the buffer after the last move written.
+     */
+    public static int generateLegal(Position position, int[] moves, int start, long targets, long sources) {
+        int side = position.getSideToMove();
+        int foe = 1 - side;
+        long kingBit = position.getPieces(side, Piece.KING);
+        if(kingBit == 0) {
+            int count = start;
+            long own = position.getSide(side) & sources;
+            while(own != 0) {
+                int from = Long.numberOfTrailingZeros(own);
+                own &= own - 1;
+                count = generateFrom(position, from, targets, moves, count);
+            }
+            return count;
+        }
+        int king = Long.numberOfTrailingZeros(kingBit);
+        long occupied = position.getOccupied();
+        long diagonal = position.getPieces(foe, Piece.BISHOP) | position.getPieces(foe, Piece.QUEEN);
+        long straight = position.getPieces(foe, Piece.ROOK) | position.getPieces(foe, Piece.QUEEN);
+        long checkers = (Attacks.pawn(side, king) & position.getPieces(foe, Piece.PAWN))
+                | (Attacks.knight(king) & position.getPieces(foe, Piece.KNIGHT))
+                | (Attacks.bishop(king, occupied) & diagonal)
+                | (Attacks.rook(king, occupied) & straight);
+
+        //The king may not step onto a square the foe attacks, including squares behind it on the ray of a checking slider.
+        int count = start;
+        long steps = (kingBit & sources) != 0 ? Attacks.king(king) & ~position.getSide(side) & targets : 0L;
+        long withoutKing = occupied & ~kingBit;
+        while(steps != 0) {
+            int to = Long.numberOfTrailingZeros(steps);
+            steps &= steps - 1;
+            if(!position.isSquareAttacked(to, foe, withoutKing)) {
+                count = generateTargets(position, king, side, Piece.KING, 1L << to, moves, count);
+            }
+        }
+        if(Long.bitCount(checkers) > 1) {
+            return count;
+        }
+        long evasions = targets;
+        if(checkers != 0) {
+            evasions &= checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        }
+
+        //Foe sliders which would see the king if one of our pieces were lifted pin that piece.
+        long foeSide = position.getSide(foe);
+        long pinners = (Attacks.bishop(king, foeSide) & diagonal) | (Attacks.rook(king, foeSide) & straight);
+        long pinned = 0L;
+        while(pinners != 0) {
+            int pinner = Long.numberOfTrailingZeros(pinners);
+            pinners &= pinners - 1;
+            long line = Attacks.between(king, pinner);
+            long blockers = line & occupied;
+            if(Long.bitCount(blockers) == 1 && (blockers & position.getSide(side)) != 0) {
+                pinned |= blockers;
+                if((blockers & sources) != 0) {
+                    count = generateFrom(position, Long.numberOfTrailingZeros(blockers), evasions & (line | (1L << pinner)), moves, count);
+                }
+            }
+        }
+        long own = position.getSide(side) & ~kingBit & ~pinned & sources;
+        while(own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            count = generateFrom(position, from, evasions, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Checks to see if a move is legal in a position, such as a move remembered from another position which may no longer be possible.
+     * @param position - the position to check the move in.
+     * @param move - the packed move.
+     * @param buffer - a buffer the legal moves onto the move's target square are written to while checking.
+     * @return a boolean value denoting whether the move is legal. (True being yes).
+     */
+    public static boolean isLegal(Position position, int move, int[] buffer) {
+        int from = Move.getFrom(move);
+        if(position.getSideAt(from) != position.getSideToMove() || position.getTypeAt(from) != Move.getPiece(move)) {
+            return false;
+        }
+        int count = generateLegal(position, buffer, 0, 1L << Move.getTo(move));
+        for(int i = 0; i < count; i++) {
+            if(buffer[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates the moves of a pawn which land on one of the given squares. A pawn moves forwards onto empty squares, two squares if it has
+     * not moved yet, and captures diagonally.
+     */
+    private static int generatePawn(Position position, int from, int side, long mask, int[] moves, int count) {
+        int x = Position.getX(from);
+        int y = Position.getY(from);
+        int dy = side == Position.UPPER ? 1 : -1;
+        int one = Position.index(x, y + dy);
+        if(one != -1 && !position.isOccupied(one)) {
+            if((mask & (1L << one)) != 0) {
+                moves[count++] = Move.encode(from, one, Piece.PAWN, 0, 0);
+            }
+            int two = Position.index(x, y + 2 * dy);
+            if(two != -1 && position.isPawnStart(from) && !position.isOccupied(two) && (mask & (1L << two)) != 0) {
+                moves[count++] = Move.encode(from, two, Piece.PAWN, 0, Move.DOUBLE_PUSH);
+            }
+        }
+        for(int dx = -1; dx <= 1; dx += 2) {
+            int to = Position.index(x + dx, y + dy);
+            if(to != -1 && position.isSide(to, 1 - side) && (mask & (1L << to)) != 0) {
+                moves[count++] = Move.encode(from, to, Piece.PAWN, position.getTypeAt(to), Move.CAPTURE);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates the moves of a piece onto each of its attacked squares which is empty or holds a foe.
+     */
+    private static int generateTargets(Position position, int from, int side, int type, long attacks, int[] moves, int count) {
+        long targets = attacks & ~position.getSide(side);
+        while(targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if(position.isOccupied(to)) {
+                moves[count++] = Move.encode(from, to, type, position.getTypeAt(to), Move.CAPTURE);
+            }
+            else {
+                moves[count++] = Move.encode(from, to, type, 0, 0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds out whether the game is over in a position. This stops as soon as the side to move is found to have a legal move,
+     * so a position which is still in play usually costs only a few move tests.
+     * @param position - the position to check.
+     * @param moves - a buffer the moves of one piece at a time are written to while searching.
+     * @return IN_PLAY, CHECKMATE or STALEMATE.
+     */
+    public static int getStatus(Position position, int[] moves) {
+        if(hasLegalMove(position, moves)) {
+            return IN_PLAY;
+        }
+        return position.isInCheck(position.getSideToMove()) ? CHECKMATE : STALEMATE;
+    }
+
+    /**
+     * Checks to see if the side to move has at least one legal move, whether it moves the king, captures a checking piece or blocks a check.
+     * @param position - the position to check.
+     * @param moves - a buffer the moves of one piece at a time are written to while searching.
+     * @return a boolean value denoting whether there is a legal move. (True being yes).
+     */
+    public static boolean hasLegalMove(Position position, int[] moves) {
+        int side = position.getSideToMove();
+        //The king is tried first since stepping away is the most common way out of a check.
+        long king = position.getPieces(side, Piece.KING);
+        if(king != 0 && hasLegalMoveFrom(position, Long.numberOfTrailingZeros(king), side, moves)) {
+            return true;
+        }
+        long own = position.getSide(side) & ~king;
+        while(own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            if(hasLegalMoveFrom(position, from, side, moves)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the moves of the piece on one square one at a time, stopping at the first which does not leave its own king attacked.
+     */
+    private static boolean hasLegalMoveFrom(Position position, int from, int side, int[] moves) {
+        int count = generateFrom(position, from, moves, 0);
+        for(int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            boolean legal = !position.isInCheck(side);
+            position.unmakeMove();
+            if(legal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
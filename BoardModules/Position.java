@@ -0,0 +1,706 @@
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of the pieces on a board. Every square is a bit of a 64-bit long, numbered y * 8 + x so that
+ * bit 0 is the upper left square (0,0) and bit 63 is the lower right square (7,7). One long is kept per piece type and side,
+ * plus aggregate longs for each side and for the whole board, so queries become set-wise operations instead of walks over objects.
+ *
+ * The position also keeps a 64-bit Zobrist hash: a random key for every piece on every square, for every pawn which has not moved
+ * and for the upper side being on the move are XORed together. Each change to the position XORs the affected keys in or out,
+ * so the hash stays up to date without looking at the whole board. A second hash made of the pawn keys alone identifies the pawn structure,
+ * which changes far less often than the rest of the position.
+ *
+ * It also keeps the piece-square scores of the position for the middlegame and the endgame and its game phase, adding and subtracting the
+ * entries of PieceSquareTables as pieces are placed, removed and moved, so scoring a position needs no walk over its pieces.
+ *
+ * Finally it keeps attack maps: the squares each piece attacks, the squares each side attacks and how many pieces of each side attack
+ * every square. When a square changes only the piece on it and the sliders whose rays run through it are looked at again, so after a move
+ * the maps are current without regenerating the attacks of every piece.
+ */
+public class Position {
+
+    //Constants for the two sides of the board.
+    public static final int LOWER = 0;
+    public static final int UPPER = 1;
+
+    //Constant stored in the square index for a square holding no piece.
+    public static final int EMPTY = -1;
+
+    //Bits of an undo record above the 32 bits holding the move.
+    private static final long MOVED_START = 1L << 32;
+    private static final long CAPTURED_START = 1L << 33;
+
+    //Zobrist keys, one per piece and square, one per pawn start square and one for the upper side to move.
+    private static final long[] PIECE_KEYS = new long[12 * 64];
+    private static final long[] START_KEYS = new long[64];
+    private static final long SIDE_KEY;
+
+    static {
+        //A fixed seed keeps the hashes the same from one run to the next.
+        long seed = 0L;
+        for(int i = 0; i < PIECE_KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            PIECE_KEYS[i] = mix(seed);
+        }
+        for(int i = 0; i < START_KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            START_KEYS[i] = mix(seed);
+        }
+        SIDE_KEY = mix(seed + 0x9E3779B97F4A7C15L);
+    }
+
+    private long[] pieces;
+    private long[] sides;
+    private long occupied;
+    //Pawns which have not moved yet and may still move two squares forwards.
+    private long pawnStarts;
+    //Square indexed copy of the bitboards holding side * 6 + type of the piece on each square, so single square lookups are one array read.
+    private byte[] squares;
+    private int sideToMove;
+    private long hash;
+    private long pawnHash;
+    //One record per move made, holding the move and the pawn start state it changed so the move can be taken back,
+    //along with the hash of the position before the move.
+    private long[] undoStack;
+    private long[] hashStack;
+    private int ply;
+    //Squares attacked by the piece on each square, by each side, and the number of attackers of each side per square (side * 64 + square).
+    private long[] attacksFrom;
+    private long[] sideAttacks;
+    private byte[] attackCounts;
+    //Piece-square scores from the lower side's point of view and the game phase.
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+
+    /**
+     * Constructs an empty position.
+     */
+    public Position() {
+        pieces = new long[12];
+        sides = new long[2];
+        squares = new byte[64];
+        undoStack = new long[256];
+        hashStack = new long[256];
+        attacksFrom = new long[64];
+        sideAttacks = new long[2];
+        attackCounts = new byte[128];
+        clear();
+    }
+
+    /**
+     * Constructs a copy of a position, including the moves which can be taken back, so that it can be searched on another thread.
+     * @param other - the position to copy.
+     */
+    public Position(Position other) {
+        pieces = other.pieces.clone();
+        sides = other.sides.clone();
+        occupied = other.occupied;
+        pawnStarts = other.pawnStarts;
+        squares = other.squares.clone();
+        sideToMove = other.sideToMove;
+        hash = other.hash;
+        pawnHash = other.pawnHash;
+        undoStack = other.undoStack.clone();
+        hashStack = other.hashStack.clone();
+        ply = other.ply;
+        attacksFrom = other.attacksFrom.clone();
+        sideAttacks = other.sideAttacks.clone();
+        attackCounts = other.attackCounts.clone();
+        middlegameScore = other.middlegameScore;
+        endgameScore = other.endgameScore;
+        phase = other.phase;
+    }
+
+    /**
+     * Removes every piece from the position.
+     */
+    public void clear() {
+        for(int i = 0; i < pieces.length; i++) {
+            pieces[i] = 0L;
+        }
+        sides[LOWER] = 0L;
+        sides[UPPER] = 0L;
+        occupied = 0L;
+        pawnStarts = 0L;
+        sideToMove = LOWER;
+        hash = 0L;
+        pawnHash = 0L;
+        ply = 0;
+        for(int i = 0; i < squares.length; i++) {
+            squares[i] = EMPTY;
+            attacksFrom[i] = 0L;
+        }
+        sideAttacks[LOWER] = 0L;
+        sideAttacks[UPPER] = 0L;
+        Arrays.fill(attackCounts, (byte) 0);
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+    }
+
+    /**
+     * Places a piece on a square.
+     * @param sq - the index of the square.
+     * @param side - the side the piece belongs to.
+     * @param type - the type of the piece.
+     */
+    public void put(int sq, int side, int type) {
+        long bit = 1L << sq;
+        pieces[side * 6 + type] |= bit;
+        sides[side] |= bit;
+        occupied |= bit;
+        squares[sq] = (byte) (side * 6 + type);
+        hash ^= PIECE_KEYS[(side * 6 + type) * 64 + sq];
+        if(type == Piece.PAWN) {
+            pawnHash ^= PIECE_KEYS[(side * 6 + type) * 64 + sq];
+        }
+        middlegameScore += PieceSquareTables.MIDDLEGAME[(side * 6 + type) * 64 + sq];
+        endgameScore += PieceSquareTables.ENDGAME[(side * 6 + type) * 64 + sq];
+        phase += PieceSquareTables.PHASE[type];
+        setAttacks(sq, side, computeAttacks(sq, side, type));
+        refreshSliders(sq, bit);
+    }
+
+    /**
+     * Removes a piece from a square.
+     * @param sq - the index of the square.
+     * @param side - the side the piece belongs to.
+     * @param type - the type of the piece.
+     */
+    public void remove(int sq, int side, int type) {
+        setAttacks(sq, side, 0L);
+        long bit = ~(1L << sq);
+        pieces[side * 6 + type] &= bit;
+        sides[side] &= bit;
+        occupied &= bit;
+        if((pawnStarts & ~bit) != 0) {
+            hash ^= START_KEYS[sq];
+            pawnStarts &= bit;
+        }
+        squares[sq] = EMPTY;
+        hash ^= PIECE_KEYS[(side * 6 + type) * 64 + sq];
+        if(type == Piece.PAWN) {
+            pawnHash ^= PIECE_KEYS[(side * 6 + type) * 64 + sq];
+        }
+        middlegameScore -= PieceSquareTables.MIDDLEGAME[(side * 6 + type) * 64 + sq];
+        endgameScore -= PieceSquareTables.ENDGAME[(side * 6 + type) * 64 + sq];
+        phase -= PieceSquareTables.PHASE[type];
+        refreshSliders(sq, 0L);
+    }
+
+    /**
+     * Moves a piece from one square to another empty square.
+     * @param from - the index of the square the piece is on.
+     * @param to - the index of the square the piece moves to.
+     * @param side - the side the piece belongs to.
+     * @param type - the type of the piece.
+     */
+    public void move(int from, int to, int side, int type) {
+        setAttacks(from, side, 0L);
+        long bits = (1L << from) | (1L << to);
+        pieces[side * 6 + type] ^= bits;
+        sides[side] ^= bits;
+        occupied ^= bits;
+        if((pawnStarts & bits) != 0) {
+            if((pawnStarts & (1L << from)) != 0) {
+                hash ^= START_KEYS[from];
+            }
+            if((pawnStarts & (1L << to)) != 0) {
+                hash ^= START_KEYS[to];
+            }
+            pawnStarts &= ~bits;
+        }
+        squares[to] = squares[from];
+        squares[from] = EMPTY;
+        int piece = side * 6 + type;
+        hash ^= PIECE_KEYS[piece * 64 + from] ^ PIECE_KEYS[piece * 64 + to];
+        if(type == Piece.PAWN) {
+            pawnHash ^= PIECE_KEYS[piece * 64 + from] ^ PIECE_KEYS[piece * 64 + to];
+        }
+        middlegameScore += PieceSquareTables.MIDDLEGAME[piece * 64 + to] - PieceSquareTables.MIDDLEGAME[piece * 64 + from];
+        endgameScore += PieceSquareTables.ENDGAME[piece * 64 + to] - PieceSquareTables.ENDGAME[piece * 64 + from];
+        setAttacks(to, side, computeAttacks(to, side, type));
+        refreshSliders(from, 1L << to);
+        refreshSliders(to, 1L << to);
+    }
+
+    /**
+     * Works out the squares a piece attacks from a square given the pieces currently on the board.
+     */
+    private long computeAttacks(int sq, int side, int type) {
+        switch(type) {
+            case Piece.PAWN:
+                return Attacks.pawn(side, sq);
+            case Piece.KNIGHT:
+                return Attacks.knight(sq);
+            case Piece.BISHOP:
+                return Attacks.bishop(sq, occupied);
+            case Piece.ROOK:
+                return Attacks.rook(sq, occupied);
+            case Piece.QUEEN:
+                return Attacks.queen(sq, occupied);
+            default:
+                return Attacks.king(sq);
+        }
+    }
+
+    /**
+     * Replaces the attacks of the piece on a square, updating the side's attack map and the attacker counts of the squares which changed.
+     */
+    private void setAttacks(int sq, int side, long attacks) {
+        long old = attacksFrom[sq];
+        if(old == attacks) {
+            return;
+        }
+        attacksFrom[sq] = attacks;
+        int base = side * 64;
+        long lost = old & ~attacks;
+        while(lost != 0) {
+            int target = Long.numberOfTrailingZeros(lost);
+            lost &= lost - 1;
+            if(--attackCounts[base + target] == 0) {
+                sideAttacks[side] &= ~(1L << target);
+            }
+        }
+        long gained = attacks & ~old;
+        while(gained != 0) {
+            int target = Long.numberOfTrailingZeros(gained);
+            gained &= gained - 1;
+            if(attackCounts[base + target]++ == 0) {
+                sideAttacks[side] |= 1L << target;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the attacks of every slider whose rays reach a square that just changed, since the square may now block them or let them through.
+     * @param sq - the index of the square which changed.
+     * @param skip - a bitboard of squares whose attacks are already up to date.
+     */
+    private void refreshSliders(int sq, long skip) {
+        long diagonal = pieces[Piece.BISHOP] | pieces[Piece.QUEEN] | pieces[6 + Piece.BISHOP] | pieces[6 + Piece.QUEEN];
+        long straight = pieces[Piece.ROOK] | pieces[Piece.QUEEN] | pieces[6 + Piece.ROOK] | pieces[6 + Piece.QUEEN];
+        long sliders = ((Attacks.bishop(sq, occupied) & diagonal) | (Attacks.rook(sq, occupied) & straight)) & ~skip;
+        while(sliders != 0) {
+            int from = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            int piece = squares[from];
+            setAttacks(from, piece / 6, computeAttacks(from, piece / 6, piece % 6));
+        }
+    }
+
+    /**
+     * Makes a move and records what is needed to take it back with unmakeMove.
+     * @param move - the packed move to make.
+     */
+    public void makeMove(int move) {
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int side = getSideAt(from);
+        long record = move & 0xFFFFFFFFL;
+        if(isPawnStart(from)) {
+            record |= MOVED_START;
+        }
+        if(ply == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, ply * 2);
+            hashStack = Arrays.copyOf(hashStack, ply * 2);
+        }
+        hashStack[ply] = hash;
+        if(Move.isCapture(move)) {
+            if(isPawnStart(to)) {
+                record |= CAPTURED_START;
+            }
+            remove(to, 1 - side, Move.getCaptured(move));
+        }
+        undoStack[ply++] = record;
+        move(from, to, side, Move.getPiece(move));
+        sideToMove = 1 - sideToMove;
+        hash ^= SIDE_KEY;
+    }
+
+    /**
+     * Takes back the last move made with makeMove.
+     * @return the packed move which was taken back.
+     */
+    public int unmakeMove() {
+        long record = undoStack[--ply];
+        int move = (int) record;
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int side = getSideAt(to);
+        move(to, from, side, Move.getPiece(move));
+        if((record & MOVED_START) != 0) {
+            setPawnStart(from);
+        }
+        if(Move.isCapture(move)) {
+            put(to, 1 - side, Move.getCaptured(move));
+            if((record & CAPTURED_START) != 0) {
+                setPawnStart(to);
+            }
+        }
+        sideToMove = 1 - sideToMove;
+        hash = hashStack[ply];
+        return move;
+    }
+
+    /**
+     * Passes the move to the other side without moving a piece, which the search uses to see whether a position is so good that even
+     * giving the opponent a free move keeps it good. It is recorded like a pawn move so repetition checks stop at it.
+     */
+    public void makeNullMove() {
+        if(ply == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, ply * 2);
+            hashStack = Arrays.copyOf(hashStack, ply * 2);
+        }
+        hashStack[ply] = hash;
+        undoStack[ply++] = Move.NONE;
+        sideToMove = 1 - sideToMove;
+        hash ^= SIDE_KEY;
+    }
+
+    /**
+     * Takes back a move passed with makeNullMove.
+     */
+    public void unmakeNullMove() {
+        ply--;
+        sideToMove = 1 - sideToMove;
+        hash = hashStack[ply];
+    }
+
+    /**
+     * Gets the number of moves which can be taken back.
+     * @return the number of moves made since the position was set up.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Gets the last move made, the one unmakeMove would take back.
+     * @return the packed move, or Move.NONE if no move can be taken back or the last one was a null move.
+     */
+    public int getLastMove() {
+        return ply == 0 ? Move.NONE : (int) undoStack[ply - 1];
+    }
+
+    /**
+     * Checks to see if the position has been reached before with the same side to move. Only the moves back to the last capture or pawn move
+     * are looked at, since no earlier position can come back after one of them.
+     * @return a boolean value denoting whether the position is a repetition. (True being yes).
+     */
+    public boolean isRepetition() {
+        for(int i = ply - 1; i >= 0; i--) {
+            int move = (int) undoStack[i];
+            if(Move.isCapture(move) || Move.getPiece(move) == Piece.PAWN) {
+                return false;
+            }
+            if(((ply - i) & 1) == 0 && hashStack[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the side whose turn it is.
+     * @return the side constant of the side to move.
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the side whose turn it is.
+     * @param side - the side constant of the side to move.
+     */
+    public void setSideToMove(int side) {
+        if(side != sideToMove) {
+            sideToMove = side;
+            hash ^= SIDE_KEY;
+        }
+    }
+
+    /**
+     * Gets the Zobrist hash of the position.
+     * @return a 64-bit key which is the same for every identical position.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the Zobrist hash of the pawns alone, which stays the same as long as no pawn moves or is captured.
+     * @return the 64-bit pawn key of the position.
+     */
+    public long getPawnHash() {
+        return pawnHash;
+    }
+
+    /**
+     * Gets the piece-square score of the position for the middlegame.
+     * @return the score in centipawns from the lower side's point of view.
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * Gets the piece-square score of the position for the endgame.
+     * @return the score in centipawns from the lower side's point of view.
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * Gets the game phase of the position, which counts the minor and major pieces on the board weighted by PieceSquareTables.PHASE.
+     * @return the phase, PieceSquareTables.MAX_PHASE in the starting position.
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the squares a side attacks.
+     * @param side - the side whose attacks are wanted.
+     * @return a bitboard of the attacked squares.
+     */
+    public long getAttacks(int side) {
+        return sideAttacks[side];
+    }
+
+    /**
+     * Gets the squares the piece on a square attacks.
+     * @param sq - the index of the square.
+     * @return a bitboard of the attacked squares, empty if there is no piece on the square.
+     */
+    public long getAttacksFrom(int sq) {
+        return attacksFrom[sq];
+    }
+
+    /**
+     * Gets the number of pieces of a side which attack a square.
+     * @param side - the side whose attackers are counted.
+     * @param sq - the index of the square.
+     * @return the number of attackers.
+     */
+    public int getAttackCount(int side, int sq) {
+        return attackCounts[side * 64 + sq];
+    }
+
+    /**
+     * Checks to see if a side attacks a square. Rather than generating the moves of every piece of that side, it looks outwards from the
+     * square with each piece's attack pattern and checks whether a piece of that kind stands on one of the squares reached.
+     * @param sq - the index of the square.
+     * @param bySide - the side whose attacks are checked.
+     * @return a boolean value denoting whether the square is attacked. (True being yes).
+     */
+    public boolean isSquareAttacked(int sq, int bySide) {
+        return isSquareAttacked(sq, bySide, occupied);
+    }
+
+    /**
+     * Checks to see if a side attacks a square, with sliders blocked by the given pieces instead of the pieces on the board.
+     * @param sq - the index of the square.
+     * @param bySide - the side whose attacks are checked.
+     * @param blockers - a bitboard of the squares holding pieces which block sliders.
+     * @return a boolean value denoting whether the square is attacked. (True being yes).
+     */
+    public boolean isSquareAttacked(int sq, int bySide, long blockers) {
+        int base = bySide * 6;
+        //A pawn of the other side on this square would attack exactly the squares an attacking pawn could stand on.
+        if((Attacks.pawn(1 - bySide, sq) & pieces[base + Piece.PAWN]) != 0) {
+            return true;
+        }
+        if((Attacks.knight(sq) & pieces[base + Piece.KNIGHT]) != 0) {
+            return true;
+        }
+        if((Attacks.king(sq) & pieces[base + Piece.KING]) != 0) {
+            return true;
+        }
+        long queens = pieces[base + Piece.QUEEN];
+        if((Attacks.bishop(sq, blockers) & (pieces[base + Piece.BISHOP] | queens)) != 0) {
+            return true;
+        }
+        return (Attacks.rook(sq, blockers) & (pieces[base + Piece.ROOK] | queens)) != 0;
+    }
+
+    /**
+     * Gets the pieces of both sides which attack a square, with sliders blocked by the given pieces instead of the pieces on the board.
+     * @param sq - the index of the square.
+     * @param blockers - a bitboard of the squares holding pieces which block sliders.
+     * @return a bitboard of the squares holding the attackers.
+     */
+    public long getAttackers(int sq, long blockers) {
+        long diagonal = pieces[Piece.BISHOP] | pieces[Piece.QUEEN] | pieces[6 + Piece.BISHOP] | pieces[6 + Piece.QUEEN];
+        long straight = pieces[Piece.ROOK] | pieces[Piece.QUEEN] | pieces[6 + Piece.ROOK] | pieces[6 + Piece.QUEEN];
+        return (Attacks.pawn(UPPER, sq) & pieces[Piece.PAWN])
+                | (Attacks.pawn(LOWER, sq) & pieces[6 + Piece.PAWN])
+                | (Attacks.knight(sq) & (pieces[Piece.KNIGHT] | pieces[6 + Piece.KNIGHT]))
+                | (Attacks.king(sq) & (pieces[Piece.KING] | pieces[6 + Piece.KING]))
+                | (Attacks.bishop(sq, blockers) & diagonal)
+                | (Attacks.rook(sq, blockers) & straight);
+    }
+
+    /**
+     * Checks to see if the king of a side is attacked. This reads the maintained attack map of the other side.
+     * @param side - the side whose king is checked.
+     * @return a boolean value denoting whether the king is in check. (True being yes).
+     */
+    public boolean isInCheck(int side) {
+        return (pieces[side * 6 + Piece.KING] & sideAttacks[1 - side]) != 0;
+    }
+
+    /**
+     * Marks the pawn on a square as not having moved yet.
+     * @param sq - the index of the square.
+     */
+    public void setPawnStart(int sq) {
+        if((pawnStarts & (1L << sq)) == 0) {
+            pawnStarts |= 1L << sq;
+            hash ^= START_KEYS[sq];
+        }
+    }
+
+    /**
+     * Checks to see if the pawn on a square has not moved yet.
+     * @param sq - the index of the square.
+     * @return a boolean value denoting whether the pawn is at its start. (True being yes).
+     */
+    public boolean isPawnStart(int sq) {
+        return (pawnStarts & (1L << sq)) != 0;
+    }
+
+    /**
+     * Gets the pawns which have not moved yet.
+     * @return a bitboard of the squares.
+     */
+    public long getPawnStarts() {
+        return pawnStarts;
+    }
+
+    /**
+     * Gets the squares holding pieces of one type and side.
+     * @param side - the side of the pieces.
+     * @param type - the type of the pieces.
+     * @return a bitboard of the squares.
+     */
+    public long getPieces(int side, int type) {
+        return pieces[side * 6 + type];
+    }
+
+    /**
+     * Gets the squares holding pieces of one side.
+     * @param side - the side of the pieces.
+     * @return a bitboard of the squares.
+     */
+    public long getSide(int side) {
+        return sides[side];
+    }
+
+    /**
+     * Gets every occupied square.
+     * @return a bitboard of the squares.
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Gets the piece on a square.
+     * @param sq - the index of the square.
+     * @return side * 6 + type of the piece on the square, or EMPTY if there is none.
+     */
+    public int getPieceAt(int sq) {
+        return squares[sq];
+    }
+
+    /**
+     * Gets the type of the piece on a square.
+     * @param sq - the index of the square.
+     * @return the type of the piece on the square, or EMPTY if there is none.
+     */
+    public int getTypeAt(int sq) {
+        int piece = squares[sq];
+        return piece == EMPTY ? EMPTY : piece % 6;
+    }
+
+    /**
+     * Gets the side of the piece on a square.
+     * @param sq - the index of the square.
+     * @return the side of the piece on the square, or EMPTY if there is none.
+     */
+    public int getSideAt(int sq) {
+        int piece = squares[sq];
+        return piece == EMPTY ? EMPTY : piece / 6;
+    }
+
+    /**
+     * Checks to see if a square holds a piece.
+     * @param sq - the index of the square.
+     * @return a boolean value denoting whether the square holds a piece. (True being yes).
+     */
+    public boolean isOccupied(int sq) {
+        return squares[sq] != EMPTY;
+    }
+
+    /**
+     * Checks to see if a square holds a piece of the given side.
+     * @param sq - the index of the square.
+     * @param side - the side to check for.
+     * @return a boolean value denoting whether the square holds a piece of that side. (True being yes).
+     */
+    public boolean isSide(int sq, int side) {
+        return getSideAt(sq) == side;
+    }
+
+    /**
+     * Gets the side a piece belongs to.
+     * @param up - whether the piece is in the upper half of the board.
+     * @return the side constant of the piece.
+     */
+    public static int sideOf(boolean up) {
+        return up ? UPPER : LOWER;
+    }
+
+    /**
+     * Scrambles the bits of a number with the splitmix64 mixing function, used to create the Zobrist keys.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Converts board coordinates to a square index.
+     * @param x - the x-coordinate.
+     * @param y - the y-coordinate.
+     * @return the square index, or -1 if the coordinates are off the board.
+     */
+    public static int index(int x, int y) {
+        if(x < Board.LEFT_X_BOUNDARY || x > Board.RIGHT_X_BOUNDARY || y < Board.UP_Y_BOUNDARY || y > Board.DOWN_Y_BOUNDARY) {
+            return -1;
+        }
+        return y * 8 + x;
+    }
+
+    /**
+     * Gets the x-coordinate of a square index.
+     * @param sq - the index of the square.
+     * @return the x-coordinate.
+     */
+    public static int getX(int sq) {
+        return sq & 7;
+    }
+
+    /**
+     * Gets the y-coordinate of a square index.
+     * @param sq - the index of the square.
+     * @return the y-coordinate.
+     */
+    public static int getY(int sq) {
+        return sq >>> 3;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Works out what a capture wins once every piece able to recapture on the square has had its turn, without making any move.
+ * Both sides take turns capturing on the square with their least valuable attacker, and a slider lined up behind a piece which captured
+ * joins in once that piece has left the line. Either side may stop capturing when going on would lose material, so the result is what
+ * the side making the first capture can be sure of winning.
+ */
+public class StaticExchange {
+
+    //Value of each piece type in centipawns, indexed by the type constants of Piece. The king is worth more than everything else together
+    //so that it only captures on a square the other side can no longer recapture on.
+    public static final int[] VALUES = {100, 320, 330, 500, 900, 20000};
+
+    //Size of the buffer an exchange is worked out in: one entry per capture, and no square has more than 32 pieces able to capture on it.
+    public static final int MAX_CAPTURES = 32;
+
+    private StaticExchange() {
+    }
+
+    /**
+     * Works out the material a move wins once the exchange it starts on its target square is over.
+     * @param position - the position the move is made in.
+     * @param move - the packed move.
+     * @param gain - a buffer of at least MAX_CAPTURES entries the material won after each capture is written to, so that the search can
+     *             work out exchanges without creating objects.
+     * @return the material won by the side making the move, negative if it loses material.
+     */
+    public static int evaluate(Position position, int move, int[] gain) {
+        int to = Move.getTo(move);
+        int from = Move.getFrom(move);
+        int depth = 0;
+        gain[0] = Move.isCapture(move) ? VALUES[Move.getCaptured(move)] : 0;
+        int onSquare = VALUES[Move.getPiece(move)];
+        int side = 1 - position.getSideAt(from);
+        long occupied = position.getOccupied() & ~(1L << from);
+        long attackers = position.getAttackers(to, occupied) & occupied;
+        while(true) {
+            long own = attackers & position.getSide(side);
+            if(own == 0) {
+                break;
+            }
+            depth++;
+            //Capturing the piece on the square wins it but hands the last gain of the other side back.
+            gain[depth] = onSquare - gain[depth - 1];
+            int type = Piece.PAWN;
+            long bit = 0L;
+            for(; type <= Piece.KING; type++) {
+                bit = own & position.getPieces(side, type);
+                if(bit != 0) {
+                    break;
+                }
+            }
+            occupied &= ~(bit & -bit);
+            attackers = position.getAttackers(to, occupied) & occupied;
+            onSquare = VALUES[type];
+            side = 1 - side;
+        }
+        //Each side picks the better of stopping and capturing, working back from the last capture.
+        while(depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * Checks to see if the piece on a square can be won by the other side, that is if some capture of it wins material for the capturer.
+     * @param position - the position to check.
+     * @param sq - the index of the square holding the piece.
+     * @param gain - a buffer of at least MAX_CAPTURES entries used while working out each exchange.
+     * @return a boolean value denoting whether the piece is hanging. (True being yes).
+     */
+    public static boolean isHanging(Position position, int sq, int[] gain) {
+        int side = position.getSideAt(sq);
+        if(side == Position.EMPTY) {
+            return false;
+        }
+        long attackers = position.getAttackers(sq, position.getOccupied()) & position.getSide(1 - side);
+        while(attackers != 0) {
+            int from = Long.numberOfTrailingZeros(attackers);
+            attackers &= attackers - 1;
+            int move = Move.encode(from, sq, position.getTypeAt(from), position.getTypeAt(sq), Move.CAPTURE);
+            if(evaluate(position, move, gain) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
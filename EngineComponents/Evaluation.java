@@ -0,0 +1,35 @@
+/**
+ * Scores positions for the search in centipawns from the point of view of the side to move, so a positive score means that side is ahead.
+ */
+public class Evaluation {
+
+    //Rough value of each piece type, indexed by the type constants of Piece, used to judge what a capture can win. The king is never
+    //captured so it is worth nothing here.
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private Evaluation() {
+    }
+
+    /**
+     * Scores a position by its material, piece-square tables and pawn structure. The material and piece-square scores are kept up to date
+     * by the position for the middlegame and the endgame and blended by how many pieces are left, so no pieces are looked at here. The
+     * pawn structure is looked up in a pawn table, so it is only analysed the first time it is seen.
+     * @param position - the position to score.
+     * @param pawns - the pawn table holding the scores of pawn structures seen before.
+     * @return the score of the position for the side to move.
+     */
+    public static int evaluate(Position position, PawnTable pawns) {
+        long structure = pawns.probe(position);
+        return taper(position, position.getMiddlegameScore() + PawnStructure.getMiddlegame(structure),
+                position.getEndgameScore() + PawnStructure.getEndgame(structure));
+    }
+
+    /**
+     * Blends a middlegame and an endgame score by the game phase of a position and turns it to the side to move's point of view.
+     */
+    private static int taper(Position position, int middlegame, int endgame) {
+        int phase = Math.min(position.getPhase(), PieceSquareTables.MAX_PHASE);
+        int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return position.getSideToMove() == Position.LOWER ? score : -score;
+    }
+}
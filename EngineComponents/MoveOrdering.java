@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * Remembers which moves caused cutoffs so later positions of the same search can try them early. Two killer moves are kept per ply: the
+ * last two quiet moves which caused a cutoff at that ply, which often refute the sibling positions too. The butterfly history table keeps
+ * a score per side and from and to square which grows with every cutoff the move causes, weighted by the depth left.
+ * Captures are ordered by most valuable victim, least valuable attacker instead.
+ */
+public class MoveOrdering {
+
+    //History scores are halved once one passes this, so that recent cutoffs keep counting for more than old ones.
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private int[] killers;
+    private int[] history;
+
+    /**
+     * Constructs empty killer and history tables.
+     */
+    public MoveOrdering() {
+        killers = new int[Search.MAX_PLY * 2];
+        history = new int[2 * 64 * 64];
+    }
+
+    /**
+     * Scores a capture so that taking a more valuable piece comes first and, for the same victim, taking it with a less valuable piece does.
+     * @param move - the packed capture.
+     * @return the score of the capture.
+     */
+    public static int scoreCapture(int move) {
+        return Move.getCaptured(move) * 8 + Piece.KING - Move.getPiece(move);
+    }
+
+    /**
+     * Gets a killer move of a ply.
+     * @param ply - the ply counted from the root.
+     * @param slot - 0 for the newest killer, 1 for the one before.
+     * @return the packed move, or Move.NONE.
+     */
+    public int getKiller(int ply, int slot) {
+        return killers[ply * 2 + slot];
+    }
+
+    /**
+     * Gets the history score of a move.
+     * @param side - the side making the move.
+     * @param move - the packed move.
+     * @return the history score.
+     */
+    public int getHistory(int side, int move) {
+        return history[side * 4096 + Move.getFrom(move) * 64 + Move.getTo(move)];
+    }
+
+    /**
+     * Records a quiet move which caused a cutoff as a killer of its ply and raises its history score.
+     * @param ply - the ply counted from the root.
+     * @param side - the side making the move.
+     * @param move - the packed move.
+     * @param depth - the depth left at the position, so cutoffs far from the leaves count for more.
+     */
+    public void addCutoff(int ply, int side, int move, int depth) {
+        if(killers[ply * 2] != move) {
+            killers[ply * 2 + 1] = killers[ply * 2];
+            killers[ply * 2] = move;
+        }
+        int index = side * 4096 + Move.getFrom(move) * 64 + Move.getTo(move);
+        history[index] += depth * depth;
+        if(history[index] > HISTORY_LIMIT) {
+            for(int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Forgets every killer and history score.
+     */
+    public void clear() {
+        Arrays.fill(killers, Move.NONE);
+        Arrays.fill(history, 0);
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Hands out the legal moves of a position one at a time in the order most likely to cause an early cutoff, doing only the work needed for
+ * the moves actually asked for. The moves come in stages: the hash move, then the captures by most valuable victim and least valuable
+ * attacker, then the killer moves of the ply and finally the other quiet moves by history score. Captures are only generated once the hash
+ * move has been tried, quiet moves only once the killers have, and each stage picks its best remaining move when asked instead of sorting
+ * the whole stage up front, so a cutoff on an early move skips the rest.
+ */
+public class MovePicker {
+
+    //Constants for the stages of picking moves.
+    private static final int HASH = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int KILLERS = 3;
+    private static final int GENERATE_QUIETS = 4;
+    private static final int QUIETS = 5;
+    private static final int DONE = 6;
+
+    private Position position;
+    private MoveOrdering ordering;
+    private int[] moves;
+    private int[] scores;
+    //Buffer for checking that the hash move and killers are legal here.
+    private int[] scratch;
+    private int stage;
+    private int index;
+    private int end;
+    private int hashMove;
+    private int killerSlot;
+    private int ply;
+    private boolean capturesOnly;
+
+    /**
+     * Constructs a picker with its own move buffers.
+     */
+    public MovePicker() {
+        moves = new int[MoveGenerator.MAX_MOVES];
+        scores = new int[MoveGenerator.MAX_MOVES];
+        scratch = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * Starts picking the moves of a position.
+     * @param position - the position to pick moves in.
+     * @param ordering - the killer and history tables of the search.
+     * @param hashMove - the move to try first, such as the best move stored for the position, or Move.NONE.
+     * @param ply - the ply of the position counted from the root, used to look up its killers.
+     */
+    public void init(Position position, MoveOrdering ordering, int hashMove, int ply) {
+        this.position = position;
+        this.ordering = ordering;
+        this.hashMove = hashMove;
+        this.ply = ply;
+        stage = HASH;
+        index = 0;
+        end = 0;
+        killerSlot = 0;
+        capturesOnly = false;
+    }
+
+    /**
+     * Starts picking only the captures of a position, best first, for resolving captures at the end of a search.
+     * @param position - the position to pick captures in.
+     */
+    public void initCaptures(Position position) {
+        this.position = position;
+        this.hashMove = Move.NONE;
+        stage = GENERATE_CAPTURES;
+        index = 0;
+        end = 0;
+        capturesOnly = true;
+    }
+
+    /**
+     * Gets the next move to try.
+     * @return the packed move, or Move.NONE once every legal move has been handed out.
+     */
+    public int next() {
+        //Each stage either hands out a move or moves on to the next stage and goes round again.
+        while(true) {
+            switch(stage) {
+                case HASH:
+                    stage++;
+                    if(hashMove != Move.NONE && MoveGenerator.isLegal(position, hashMove, scratch)) {
+                        return hashMove;
+                    }
+                    hashMove = Move.NONE;
+                    continue;
+                case GENERATE_CAPTURES:
+                    end = MoveGenerator.generateLegal(position, moves, 0, position.getSide(1 - position.getSideToMove()));
+                    for(int i = 0; i < end; i++) {
+                        scores[i] = MoveOrdering.scoreCapture(moves[i]);
+                    }
+                    stage++;
+                    continue;
+                case CAPTURES:
+                    while(index < end) {
+                        int move = pickBest();
+                        if(move != hashMove) {
+                            return move;
+                        }
+                    }
+                    stage = capturesOnly ? DONE : KILLERS;
+                    continue;
+                case KILLERS:
+                    while(killerSlot < 2) {
+                        int killer = ordering.getKiller(ply, killerSlot++);
+                        if(isKiller(killer) && MoveGenerator.isLegal(position, killer, scratch)) {
+                            return killer;
+                        }
+                    }
+                    stage++;
+                    continue;
+                case GENERATE_QUIETS:
+                    end = MoveGenerator.generateLegal(position, moves, index, ~position.getOccupied());
+                    int side = position.getSideToMove();
+                    for(int i = index; i < end; i++) {
+                        scores[i] = ordering.getHistory(side, moves[i]);
+                    }
+                    stage++;
+                    continue;
+                case QUIETS:
+                    while(index < end) {
+                        int move = pickBest();
+                        if(move != hashMove && move != ordering.getKiller(ply, 0) && move != ordering.getKiller(ply, 1)) {
+                            return move;
+                        }
+                    }
+                    stage++;
+                    continue;
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    /**
+     * Checks to see if a killer move is still to be tried in the killer stage: it is a quiet move other than the hash move.
+     */
+    private boolean isKiller(int killer) {
+        return killer != Move.NONE && killer != hashMove && !Move.isCapture(killer);
+    }
+
+    /**
+     * Swaps the highest scored remaining move of the stage to the front and hands it out.
+     */
+    private int pickBest() {
+        int best = index;
+        for(int i = index + 1; i < end; i++) {
+            if(scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves[best];
+        moves[best] = moves[index];
+        scores[best] = scores[index];
+        index++;
+        return move;
+    }
+}
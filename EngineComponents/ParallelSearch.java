@@ -0,0 +1,136 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches a position on several threads at once in the Lazy SMP style. Every thread runs its own Search of the same root on a private
+ * copy of the position, and all of them share one transposition table, so the results one thread stores save the others work.
+ * The first thread's search decides the move: once it finishes, the helpers are stopped. Helpers with an odd number search one ply deeper
+ * than the first thread so they fill the table ahead of it rather than repeating its work in the same order.
+ *
+ * With one thread the search runs on the calling thread without helpers, so with a cleared table it gives the same result every time.
+ */
+public class ParallelSearch {
+
+    private Search[] workers;
+    private TranspositionTable table;
+    private volatile AtomicBoolean stopSignal;
+
+    /**
+     * Constructs a parallel search.
+     * @param threads - the number of threads to search with, at least 1.
+     * @param table - the transposition table the threads share.
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if(threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread, not " + threads);
+        }
+        this.table = table;
+        this.workers = new Search[threads];
+        for(int i = 0; i < threads; i++) {
+            workers[i] = new Search(table, false);
+        }
+    }
+
+    /**
+     * Searches a position for the best move of the side to move. The position itself is not touched.
+     * @param position - the position to search.
+     * @param maxDepth - the depth in plies of the first thread's last iteration.
+     * @param maxNodes - the number of nodes after which the first thread stops, or 0 for no limit.
+     * @return the best move found, or Move.NONE if the side to move has no legal move.
+     */
+    public int search(Position position, int maxDepth, long maxNodes) {
+        return search(position, maxDepth, maxNodes, 0);
+    }
+
+    /**
+     * Searches a position for the best move of the side to move within a time limit. The position itself is not touched.
+     * @param position - the position to search.
+     * @param maxDepth - the depth in plies of the first thread's last iteration.
+     * @param maxNodes - the number of nodes after which the first thread stops, or 0 for no limit.
+     * @param maxTime - the number of milliseconds after which the first thread stops, or 0 for no limit.
+     * @return the best move found, or Move.NONE if the side to move has no legal move.
+     */
+    public int search(Position position, int maxDepth, long maxNodes, long maxTime) {
+        AtomicBoolean signal = new AtomicBoolean();
+        stopSignal = signal;
+        table.newSearch();
+        Thread[] helpers = new Thread[workers.length - 1];
+        try {
+            for(int i = 0; i < helpers.length; i++) {
+                Search helper = workers[i + 1];
+                Position copy = new Position(position);
+                int depth = maxDepth + ((i + 1) & 1);
+                helper.setStopSignal(signal);
+                helpers[i] = new Thread(() -> helper.search(copy, depth, 0), "search-helper-" + (i + 1));
+                helpers[i].setDaemon(true);
+                helpers[i].start();
+            }
+            workers[0].setStopSignal(signal);
+            return workers[0].search(new Position(position), maxDepth, maxNodes, maxTime);
+        }
+        finally {
+            //The helpers are stopped even if the first thread's search throws, so none of them is left searching a finished position.
+            signal.set(true);
+            for(Thread helper:helpers) {
+                if(helper == null) {
+                    break;
+                }
+                try {
+                    helper.join();
+                }
+                catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if(stopSignal == signal) {
+                stopSignal = null;
+            }
+        }
+    }
+
+    /**
+     * Stops a search running on another thread, which then returns the result of its last finished iteration.
+     */
+    public void stop() {
+        AtomicBoolean signal = stopSignal;
+        if(signal != null) {
+            signal.set(true);
+        }
+    }
+
+    /**
+     * Gets the search of the first thread, which holds the score, depth and line of the move returned.
+     * @return the Search object of the first thread.
+     */
+    public Search getMainSearch() {
+        return workers[0];
+    }
+
+    /**
+     * Gets the number of positions all threads visited in the last search.
+     * @return the node count summed over the threads.
+     */
+    public long getNodes() {
+        long nodes = 0;
+        for(Search worker:workers) {
+            nodes += worker.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the number of threads the search runs on.
+     * @return the thread count.
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Gets the transposition table the threads share.
+     * @return the TranspositionTable object.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+}
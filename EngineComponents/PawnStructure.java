@@ -0,0 +1,140 @@
+/**
+ * Scores the pawn structure of a position: doubled, isolated and backward pawns cost, passed pawns earn more the further they have come.
+ * Every term has a middlegame and an endgame value, which are packed into one long with the middlegame score in the upper 32 bits so that
+ * a whole structure can be cached as a single value.
+ */
+public class PawnStructure {
+
+    //Middlegame and endgame values of each structure term.
+    private static final int DOUBLED_MIDDLEGAME = -10;
+    private static final int DOUBLED_ENDGAME = -20;
+    private static final int ISOLATED_MIDDLEGAME = -10;
+    private static final int ISOLATED_ENDGAME = -15;
+    private static final int BACKWARD_MIDDLEGAME = -8;
+    private static final int BACKWARD_ENDGAME = -10;
+    //Bonus of a passed pawn by how many rows it has advanced from its side's home row.
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 80};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 55, 80, 110, 140};
+
+    //Squares of each column, and of the columns either side of each column.
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    //Squares ahead of a pawn of each side on its own column (side * 64 + square), and ahead of it on its own and the neighbouring columns.
+    private static final long[] FRONT = new long[128];
+    private static final long[] PASSED = new long[128];
+    //Squares beside and behind a pawn of each side on the neighbouring columns, where friendly pawns could still support it.
+    private static final long[] SUPPORT = new long[128];
+
+    static {
+        for(int sq = 0; sq < 64; sq++) {
+            FILES[Position.getX(sq)] |= 1L << sq;
+        }
+        for(int x = 0; x < 8; x++) {
+            ADJACENT_FILES[x] = (x > 0 ? FILES[x - 1] : 0L) | (x < 7 ? FILES[x + 1] : 0L);
+        }
+        for(int sq = 0; sq < 64; sq++) {
+            int x = Position.getX(sq);
+            int y = Position.getY(sq);
+            for(int other = 0; other < 64; other++) {
+                int oy = Position.getY(other);
+                long bit = 1L << other;
+                //The lower side moves towards row 0, the upper side towards row 7.
+                if(oy < y) {
+                    FRONT[Position.LOWER * 64 + sq] |= bit & FILES[x];
+                    PASSED[Position.LOWER * 64 + sq] |= bit & (FILES[x] | ADJACENT_FILES[x]);
+                }
+                else {
+                    SUPPORT[Position.LOWER * 64 + sq] |= bit & ADJACENT_FILES[x];
+                }
+                if(oy > y) {
+                    FRONT[Position.UPPER * 64 + sq] |= bit & FILES[x];
+                    PASSED[Position.UPPER * 64 + sq] |= bit & (FILES[x] | ADJACENT_FILES[x]);
+                }
+                else {
+                    SUPPORT[Position.UPPER * 64 + sq] |= bit & ADJACENT_FILES[x];
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    /**
+     * Scores the pawn structure of a position.
+     * @param position - the position to score.
+     * @return the packed middlegame and endgame scores from the lower side's point of view.
+     */
+    public static long evaluate(Position position) {
+        int middlegame = 0;
+        int endgame = 0;
+        for(int side = Position.LOWER; side <= Position.UPPER; side++) {
+            int sign = side == Position.LOWER ? 1 : -1;
+            long own = position.getPieces(side, Piece.PAWN);
+            long foe = position.getPieces(1 - side, Piece.PAWN);
+            long pawns = own;
+            while(pawns != 0) {
+                int sq = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                int x = Position.getX(sq);
+                int index = side * 64 + sq;
+                //A pawn with one of its own pawns ahead of it on its column counts as doubled once, so a column of n pawns costs n - 1 penalties.
+                if((FRONT[index] & own) != 0) {
+                    middlegame += sign * DOUBLED_MIDDLEGAME;
+                    endgame += sign * DOUBLED_ENDGAME;
+                }
+                if((ADJACENT_FILES[x] & own) == 0) {
+                    middlegame += sign * ISOLATED_MIDDLEGAME;
+                    endgame += sign * ISOLATED_ENDGAME;
+                }
+                else if((SUPPORT[index] & own) == 0 && isStopAttacked(sq, side, foe)) {
+                    //Every neighbour has already gone past it and a foe pawn stops it from catching up.
+                    middlegame += sign * BACKWARD_MIDDLEGAME;
+                    endgame += sign * BACKWARD_ENDGAME;
+                }
+                if((PASSED[index] & foe) == 0 && (FRONT[index] & own) == 0) {
+                    int advanced = side == Position.LOWER ? 7 - Position.getY(sq) : Position.getY(sq);
+                    middlegame += sign * PASSED_MIDDLEGAME[advanced];
+                    endgame += sign * PASSED_ENDGAME[advanced];
+                }
+            }
+        }
+        return pack(middlegame, endgame);
+    }
+
+    /**
+     * Checks to see if a foe pawn attacks the square in front of a pawn.
+     */
+    private static boolean isStopAttacked(int sq, int side, long foe) {
+        int stop = Position.index(Position.getX(sq), Position.getY(sq) + (side == Position.UPPER ? 1 : -1));
+        return stop != -1 && (Attacks.pawn(side, stop) & foe) != 0;
+    }
+
+    /**
+     * Packs a middlegame and an endgame score into a long.
+     * @param middlegame - the middlegame score.
+     * @param endgame - the endgame score.
+     * @return the packed scores.
+     */
+    public static long pack(int middlegame, int endgame) {
+        return ((long) middlegame << 32) | (endgame & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the middlegame score of packed scores.
+     * @param scores - the packed scores.
+     * @return the middlegame score.
+     */
+    public static int getMiddlegame(long scores) {
+        return (int) (scores >> 32);
+    }
+
+    /**
+     * Gets the endgame score of packed scores.
+     * @param scores - the packed scores.
+     * @return the endgame score.
+     */
+    public static int getEndgame(long scores) {
+        return (int) scores;
+    }
+}
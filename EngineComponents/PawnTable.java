@@ -0,0 +1,71 @@
+/**
+ * Small cache of pawn structure scores keyed by the pawn hash of a position. Pawns move far less often than other pieces, so most positions
+ * a search visits share their pawn structure with one scored before and the analysis only runs once per structure. Each slot holds one
+ * structure and a new one simply takes the slot over. The table belongs to one search thread, so it needs no locking.
+ */
+public class PawnTable {
+
+    private long[] keys;
+    private long[] scores;
+    private int mask;
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructs an empty table.
+     * @param entries - the number of structures the table holds, rounded down to a power of two.
+     */
+    public PawnTable(int entries) {
+        if(entries < 1) {
+            throw new IllegalArgumentException("A pawn table needs at least one entry, not " + entries);
+        }
+        int size = Integer.highestOneBit(entries);
+        keys = new long[size];
+        scores = new long[size];
+        mask = size - 1;
+        //The empty structure has key 0 and scores 0, so empty slots already hold its correct result.
+    }
+
+    /**
+     * Gets the pawn structure scores of a position, working them out and storing them if the structure is not in the table yet.
+     * @param position - the position to score.
+     * @return the packed middlegame and endgame scores, as returned by PawnStructure.evaluate.
+     */
+    public long probe(Position position) {
+        probes++;
+        long key = position.getPawnHash();
+        int index = (int) key & mask;
+        if(keys[index] == key) {
+            hits++;
+            return scores[index];
+        }
+        long result = PawnStructure.evaluate(position);
+        keys[index] = key;
+        scores[index] = result;
+        return result;
+    }
+
+    /**
+     * Gets the number of lookups made since the table was built.
+     * @return the probe count.
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Gets the number of lookups which found the structure already scored.
+     * @return the hit count.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the share of lookups which found the structure already scored.
+     * @return the hit rate between 0 and 1.
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+}
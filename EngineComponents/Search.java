@@ -0,0 +1,528 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds the best move of the side to move with a negamax alpha-beta search. The search is run with iterative deepening: the position is
+ * searched one ply deeper at a time, and the principal variation of each finished iteration is tried first in the next one so that most
+ * cutoffs happen early. The search stops at the depth limit or once it has visited the node budget, in which case the result of the last
+ * finished iteration is kept. It can also be given a time limit, after which it stops the same way; an iteration is not started once half
+ * the time is gone, since it would most likely not finish.
+ *
+ * Away from the principal variation, moves are searched with a null window first and only searched again with the full window if they
+ * turn out better than the best so far. Several kinds of forward pruning, each of which can be switched off, save most of the work:
+ * null move pruning gives the opponent a free move and cuts the node if a shallow search still fails high, checked again with a real
+ * search in endings where passing could be the best move; late quiet moves are searched at a reduced depth first; near the leaves
+ * quiet moves which cannot raise a far too low static score are skipped (futility pruning), and positions far below alpha go straight
+ * to the quiescence search (razoring).
+ *
+ * At the leaves a quiescence search plays out the captures, so a position is never scored in the middle of an exchange. It only looks at
+ * captures which do not lose material by static exchange evaluation, and skips those which could not lift the score to alpha even if the
+ * captured piece were won for free.
+ *
+ * Moves are handed out by one MovePicker per ply, best guesses first, and made and taken back on the position itself, so searching
+ * creates no objects.
+ * A search can be given a transposition table, which may be shared with searches running on other threads, to reuse the results of
+ * positions reached before and to try their best moves first.
+ */
+public class Search {
+
+    //The deepest the search can go, counting from the root.
+    public static final int MAX_PLY = 64;
+
+    //Bounds on scores. A mate found at some ply scores MATE less than that ply, so nearer mates score higher.
+    public static final int INFINITY = 1000000;
+    public static final int MATE = 100000;
+
+    //Number of pawn structures each search keeps scored.
+    private static final int PAWN_TABLE_ENTRIES = 1 << 14;
+
+    //Margin added to the value of a captured piece when checking whether a capture could possibly raise the score to alpha.
+    private static final int DELTA_MARGIN = 200;
+
+    //Depths from which null moves are tried and late moves are reduced, and up to which futility pruning and razoring apply.
+    private static final int NULL_MOVE_DEPTH = 3;
+    private static final int REDUCTION_DEPTH = 3;
+    private static final int FUTILITY_DEPTH = 2;
+    private static final int RAZOR_DEPTH = 2;
+
+    //Number of moves searched at full depth before the rest are reduced.
+    private static final int FULL_DEPTH_MOVES = 3;
+
+    //Margins per ply of depth left by which the static score must miss alpha for futility pruning and razoring.
+    private static final int FUTILITY_MARGIN = 150;
+    private static final int RAZOR_MARGIN = 300;
+
+    private Position position;
+    private TranspositionTable table;
+    //Whether the search marks each of its searches in the table itself, rather than whoever runs the searches sharing it.
+    private boolean ownsTable;
+    //Set by another thread to stop the search, which looks at it every few thousand nodes.
+    private AtomicBoolean stopSignal;
+    private int[] rootMoves;
+    //Buffer static exchanges are worked out in.
+    private int[] exchange;
+    private MovePicker[] pickers;
+    private MoveOrdering ordering;
+    private PawnTable pawns;
+    //Triangular table of principal variations: row ply holds the best line found from that ply, in columns ply to pvLength[ply] - 1.
+    private int[][] pv;
+    private int[] pvLength;
+    //Principal variation of the last finished iteration.
+    private int[] line;
+    private int lineLength;
+    private long nodes;
+    private long maxNodes;
+    //Time the search must stop by in System.nanoTime terms, or 0 for no limit.
+    private long deadline;
+    private boolean nullMovePruning;
+    private boolean lateMoveReductions;
+    private boolean futilityPruning;
+    private boolean razoring;
+    private boolean stopped;
+    private int bestMove;
+    private int score;
+    private int depth;
+
+    /**
+     * Constructs a search without a transposition table and allocates the buffers it reuses from one search to the next.
+     */
+    public Search() {
+        this(null);
+    }
+
+    /**
+     * Constructs a search which stores its results in a transposition table of its own, marking the start of each search in it so the
+     * results of earlier searches give way to newer ones.
+     * @param table - the table to use, or null for none.
+     */
+    public Search(TranspositionTable table) {
+        this(table, true);
+    }
+
+    /**
+     * Constructs a search which stores its results in a transposition table.
+     * @param table - the table to use, or null for none.
+     * @param ownsTable - true if the search calls newSearch on the table at the start of each search, false if the table is shared with
+     * other searches and whoever runs them calls it once for all of them.
+     */
+    public Search(TranspositionTable table, boolean ownsTable) {
+        this.table = table;
+        this.ownsTable = ownsTable;
+        rootMoves = new int[MoveGenerator.MAX_MOVES];
+        exchange = new int[StaticExchange.MAX_CAPTURES];
+        pickers = new MovePicker[MAX_PLY];
+        for(int i = 0; i < MAX_PLY; i++) {
+            pickers[i] = new MovePicker();
+        }
+        ordering = new MoveOrdering();
+        pawns = new PawnTable(PAWN_TABLE_ENTRIES);
+        pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+        pvLength = new int[MAX_PLY + 1];
+        line = new int[MAX_PLY];
+        nullMovePruning = true;
+        lateMoveReductions = true;
+        futilityPruning = true;
+        razoring = true;
+    }
+
+    /**
+     * Searches a position for the best move of the side to move. The position is left as it was found.
+     * @param position - the position to search.
+     * @param maxDepth - the depth in plies of the last iteration.
+     * @param maxNodes - the number of nodes after which the search stops, or 0 for no limit.
+     * @return the best move found, or Move.NONE if the side to move has no legal move.
+     */
+    public int search(Position position, int maxDepth, long maxNodes) {
+        return search(position, maxDepth, maxNodes, 0);
+    }
+
+    /**
+     * Searches a position for the best move of the side to move within a time limit. The position is left as it was found.
+     * @param position - the position to search.
+     * @param maxDepth - the depth in plies of the last iteration.
+     * @param maxNodes - the number of nodes after which the search stops, or 0 for no limit.
+     * @param maxTime - the number of milliseconds after which the search stops, or 0 for no limit.
+     * @return the best move found, or Move.NONE if the side to move has no legal move.
+     */
+    public int search(Position position, int maxDepth, long maxNodes, long maxTime) {
+        long start = System.nanoTime();
+        this.position = position;
+        this.maxNodes = maxNodes;
+        this.deadline = maxTime > 0 ? start + maxTime * 1000000L : 0;
+        nodes = 0;
+        stopped = false;
+        lineLength = 0;
+        depth = 0;
+        score = 0;
+        ordering.clear();
+        if(table != null && ownsTable) {
+            table.newSearch();
+        }
+        int count = MoveGenerator.generateLegal(position, rootMoves, 0);
+        bestMove = count > 0 ? rootMoves[0] : Move.NONE;
+        for(int d = 1; d <= Math.min(maxDepth, MAX_PLY) && count > 0; d++) {
+            int result = negamax(d, -INFINITY, INFINITY, 0, false);
+            if(stopped) {
+                break;
+            }
+            score = result;
+            depth = d;
+            lineLength = pvLength[0];
+            System.arraycopy(pv[0], 0, line, 0, lineLength);
+            bestMove = line[0];
+            //Nothing deeper can improve on a forced mate.
+            if(Math.abs(score) > MATE - MAX_PLY) {
+                break;
+            }
+            if(deadline != 0 && System.nanoTime() - start > (deadline - start) / 2) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches a position to a fixed depth, scoring it between the bounds alpha and beta from the side to move's point of view.
+     * A score at or above beta means the opponent will avoid this position, so the rest of its moves need not be searched.
+     * Null moves are not tried right after one, since two in a row would just search the same position again.
+     */
+    private int negamax(int depth, int alpha, int beta, int ply, boolean allowNull) {
+        pvLength[ply] = ply;
+        if(ply > 0 && position.isRepetition()) {
+            return 0;
+        }
+        if(depth <= 0) {
+            return quiesce(alpha, beta, ply);
+        }
+        if(shouldStop()) {
+            stopped = true;
+            return 0;
+        }
+        nodes++;
+        if(ply == MAX_PLY) {
+            return Evaluation.evaluate(position, pawns);
+        }
+        boolean pvNode = beta - alpha > 1;
+        //A result stored for this position at least as deep as needed ends the search here if its bound decides the score.
+        int hashMove = Move.NONE;
+        if(table != null) {
+            long data = table.probe(position.getHash());
+            if(data != 0) {
+                hashMove = TranspositionTable.getMove(data);
+                if(ply > 0 && TranspositionTable.getDepth(data) >= depth) {
+                    int stored = fromTable(TranspositionTable.getScore(data), ply);
+                    int bound = TranspositionTable.getBound(data);
+                    if(bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && stored >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && stored <= alpha)) {
+                        return stored;
+                    }
+                }
+            }
+        }
+        int side = position.getSideToMove();
+        boolean inCheck = position.isInCheck(side);
+        int staticScore = inCheck ? -INFINITY : Evaluation.evaluate(position, pawns);
+        if(!pvNode && !inCheck) {
+            if(razoring && depth <= RAZOR_DEPTH && staticScore + RAZOR_MARGIN * depth < alpha) {
+                int value = quiesce(alpha - 1, alpha, ply);
+                if(stopped) {
+                    return 0;
+                }
+                if(value < alpha) {
+                    return value;
+                }
+            }
+            long pieces = position.getSide(side) & ~position.getPieces(side, Piece.PAWN) & ~position.getPieces(side, Piece.KING);
+            if(nullMovePruning && allowNull && depth >= NULL_MOVE_DEPTH && staticScore >= beta && beta < MATE - MAX_PLY && pieces != 0) {
+                int reduction = 2 + depth / 4;
+                position.makeNullMove();
+                int value = -negamax(depth - 1 - reduction, -beta, -beta + 1, ply + 1, false);
+                position.unmakeNullMove();
+                if(stopped) {
+                    return 0;
+                }
+                if(value >= beta) {
+                    //With a single piece besides pawns, passing may be the only thing the side cannot afford, so a reduced search of the real
+                    //moves has to agree before the cutoff is trusted.
+                    if(Long.bitCount(pieces) > 1) {
+                        return beta;
+                    }
+                    value = negamax(depth - reduction, beta - 1, beta, ply, false);
+                    if(stopped) {
+                        return 0;
+                    }
+                    if(value >= beta) {
+                        return beta;
+                    }
+                }
+            }
+        }
+        boolean futile = futilityPruning && !pvNode && !inCheck && depth <= FUTILITY_DEPTH && alpha < MATE - MAX_PLY
+                && staticScore + FUTILITY_MARGIN * depth <= alpha;
+        //The move stored for this position, or else the move the last iteration found best here, is searched first.
+        MovePicker picker = pickers[ply];
+        picker.init(position, ordering, hashMove != Move.NONE ? hashMove : ply < lineLength ? line[ply] : Move.NONE, ply);
+        int originalAlpha = alpha;
+        int bestMove = Move.NONE;
+        int legalMoves = 0;
+        int move;
+        while((move = picker.next()) != Move.NONE) {
+            legalMoves++;
+            position.makeMove(move);
+            boolean quiet = !Move.isCapture(move) && !position.isInCheck(position.getSideToMove());
+            if(futile && quiet) {
+                position.unmakeMove();
+                continue;
+            }
+            int value;
+            if(legalMoves == 1) {
+                value = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+            }
+            else {
+                int reduction = 0;
+                if(lateMoveReductions && depth >= REDUCTION_DEPTH && legalMoves > FULL_DEPTH_MOVES && quiet && !inCheck
+                        && move != ordering.getKiller(ply, 0) && move != ordering.getKiller(ply, 1)) {
+                    reduction = legalMoves > FULL_DEPTH_MOVES * 3 ? 2 : 1;
+                }
+                value = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if(value > alpha && reduction > 0) {
+                    value = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1, true);
+                }
+                if(value > alpha && value < beta) {
+                    value = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+                }
+            }
+            position.unmakeMove();
+            if(stopped) {
+                return 0;
+            }
+            if(value > alpha) {
+                alpha = value;
+                bestMove = move;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+                if(alpha >= beta) {
+                    if(!Move.isCapture(move)) {
+                        ordering.addCutoff(ply, side, move, depth);
+                    }
+                    store(depth, TranspositionTable.LOWER_BOUND, beta, move, ply);
+                    return beta;
+                }
+            }
+        }
+        if(legalMoves == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        store(depth, alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND, alpha, bestMove, ply);
+        return alpha;
+    }
+
+    /**
+     * Checks to see if the search has to stop because its node budget or time ran out or another thread asked it to. The clock and the
+     * other threads are only looked at every few thousand nodes.
+     */
+    private boolean shouldStop() {
+        if(maxNodes > 0 && nodes >= maxNodes) {
+            return true;
+        }
+        if((nodes & 4095) != 0) {
+            return false;
+        }
+        return (stopSignal != null && stopSignal.get()) || (deadline != 0 && System.nanoTime() >= deadline);
+    }
+
+    /**
+     * Searches only the captures of a position until it is quiet, so that it is not scored with a piece hanging. The side to move may also
+     * stand pat, taking the score of the position as it is, since it is not forced to capture. In check every evasion is searched instead.
+     */
+    private int quiesce(int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        if(shouldStop()) {
+            stopped = true;
+            return 0;
+        }
+        nodes++;
+        if(ply == MAX_PLY) {
+            return Evaluation.evaluate(position, pawns);
+        }
+        boolean inCheck = position.isInCheck(position.getSideToMove());
+        int standPat = -INFINITY;
+        MovePicker picker = pickers[ply];
+        if(inCheck) {
+            picker.init(position, ordering, Move.NONE, ply);
+        }
+        else {
+            standPat = Evaluation.evaluate(position, pawns);
+            if(standPat >= beta) {
+                return beta;
+            }
+            if(standPat > alpha) {
+                alpha = standPat;
+            }
+            picker.initCaptures(position);
+        }
+        int legalMoves = 0;
+        int move;
+        while((move = picker.next()) != Move.NONE) {
+            legalMoves++;
+            if(!inCheck && (standPat + Evaluation.PIECE_VALUES[Move.getCaptured(move)] + DELTA_MARGIN <= alpha
+                    || StaticExchange.evaluate(position, move, exchange) < 0)) {
+                continue;
+            }
+            position.makeMove(move);
+            int value = -quiesce(-beta, -alpha, ply + 1);
+            position.unmakeMove();
+            if(stopped) {
+                return 0;
+            }
+            if(value > alpha) {
+                alpha = value;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+                if(alpha >= beta) {
+                    return beta;
+                }
+            }
+        }
+        if(inCheck && legalMoves == 0) {
+            return -MATE + ply;
+        }
+        return alpha;
+    }
+
+    /**
+     * Stores the result of searching the current position in the transposition table, if there is one.
+     */
+    private void store(int depth, int bound, int score, int move, int ply) {
+        if(table != null) {
+            table.store(position.getHash(), depth, bound, toTable(score, ply), move);
+        }
+    }
+
+    /**
+     * Converts a score to be stored in the table. Mate scores count plies from the root, so they are made to count from the stored position.
+     */
+    private static int toTable(int score, int ply) {
+        if(score > MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if(score < -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a score read from the table back to count mate scores from the root.
+     */
+    private static int fromTable(int score, int ply) {
+        if(score > MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if(score < -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Sets the flag another thread raises to stop the search. The search stops soon after the flag is set and keeps the result of the
+     * last finished iteration.
+     * @param stopSignal - the flag to look at, or null for none.
+     */
+    public void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    public boolean isNullMovePruning() {
+        return nullMovePruning;
+    }
+
+    public void setNullMovePruning(boolean nullMovePruning) {
+        this.nullMovePruning = nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    public void setLateMoveReductions(boolean lateMoveReductions) {
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    public boolean isFutilityPruning() {
+        return futilityPruning;
+    }
+
+    public void setFutilityPruning(boolean futilityPruning) {
+        this.futilityPruning = futilityPruning;
+    }
+
+    public boolean isRazoring() {
+        return razoring;
+    }
+
+    public void setRazoring(boolean razoring) {
+        this.razoring = razoring;
+    }
+
+    /**
+     * Gets the pawn table the search scores pawn structures with.
+     * @return the PawnTable object of this search.
+     */
+    public PawnTable getPawnTable() {
+        return pawns;
+    }
+
+    /**
+     * Gets the transposition table the search stores its results in.
+     * @return the TranspositionTable object, or null if there is none.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the best move found by the last search.
+     * @return the packed move, or Move.NONE if there was none.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the score of the last finished iteration.
+     * @return the score in centipawns for the side to move.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the depth of the last finished iteration.
+     * @return the depth in plies.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of positions the last search visited.
+     * @return the node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the line of best play found by the last finished iteration.
+     * @return the packed moves of the line starting with the best move.
+     */
+    public int[] getPrincipalVariation() {
+        int[] variation = new int[lineLength];
+        System.arraycopy(line, 0, variation, 0, lineLength);
+        return variation;
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Table of search results keyed by the Zobrist hash of a position, shared by every thread searching the same game. Each result is packed
+ * into a long: bits 0-19 hold the best move, bits 20-27 the depth it was searched to, bits 28-29 the kind of bound the score is,
+ * bits 30-31 the search it was stored in and the upper 32 bits the score.
+ *
+ * The table is a flat long array whose size is a power of two, split into buckets of two entries of two longs each. An entry holds the hash
+ * XORed with the result, followed by the result itself. Threads read and write entries without locks: if two threads write the same entry
+ * at once, the XOR of its two halves no longer gives a hash which matches, so a torn entry reads as a miss instead of a wrong result.
+ * The first entry of a bucket keeps the deepest result of the current search, the second always takes the newest result.
+ */
+public class TranspositionTable {
+
+    //Constants for the kind of bound a stored score is. No stored result has bound 0, so an empty result is 0.
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    //Bytes taken by one bucket of two entries.
+    private static final int BUCKET_BYTES = 32;
+
+    private long[] entries;
+    private int mask;
+    //Number of the current search, kept in two bits so that results of earlier searches can be told apart and replaced first.
+    private int age;
+    private LongAdder probes;
+    private LongAdder hits;
+
+    /**
+     * Constructs an empty table.
+     * @param megabytes - the most memory the table may take, which is rounded down to a power of two buckets.
+     */
+    public TranspositionTable(int megabytes) {
+        if(megabytes < 1) {
+            throw new IllegalArgumentException("A transposition table needs at least 1 MB, not " + megabytes);
+        }
+        long buckets = Long.highestOneBit(megabytes * 1024L * 1024L / BUCKET_BYTES);
+        //A Java array holds fewer than 2^31 longs, so the table is capped at 2^28 buckets of four longs.
+        buckets = Math.min(buckets, 1L << 28);
+        this.entries = new long[(int) buckets * 4];
+        this.mask = (int) buckets - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+    }
+
+    /**
+     * Looks up the result stored for a position.
+     * @param hash - the Zobrist hash of the position.
+     * @return the packed result, or 0 if the position has none.
+     */
+    public long probe(long hash) {
+        probes.increment();
+        int bucket = ((int) hash & mask) << 2;
+        for(int i = bucket; i < bucket + 4; i += 2) {
+            long data = entries[i + 1];
+            if((entries[i] ^ data) == hash && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores the result of searching a position. The first entry of the bucket is replaced if it holds the same position, a result of an
+     * earlier search or a result searched no deeper than this one, and the second entry is replaced otherwise.
+     * @param hash - the Zobrist hash of the position.
+     * @param depth - the depth the position was searched to.
+     * @param bound - EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param score - the score of the position.
+     * @param move - the best move found, or Move.NONE.
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        int bucket = ((int) hash & mask) << 2;
+        long old = entries[bucket + 1];
+        long data = pack(depth, bound, score, move);
+        int i = bucket;
+        if((entries[bucket] ^ old) != hash && getAge(old) == age && getDepth(old) > depth) {
+            i = bucket + 2;
+        }
+        entries[i] = hash ^ data;
+        entries[i + 1] = data;
+    }
+
+    /**
+     * Marks the start of a new search, so the deep results of earlier searches give way to the results of this one. A Search with a table of
+     * its own calls this itself, and a ParallelSearch calls it once for all the threads sharing its table.
+     */
+    public void newSearch() {
+        age = (age + 1) & 3;
+    }
+
+    /**
+     * Removes every result from the table and resets its counters.
+     */
+    public void clear() {
+        Arrays.fill(entries, 0L);
+        age = 0;
+        probes.reset();
+        hits.reset();
+    }
+
+    /**
+     * Packs the parts of a result into a long.
+     */
+    private long pack(int depth, int bound, int score, int move) {
+        return (move & 0xFFFFFL) | ((long) depth << 20) | ((long) bound << 28) | ((long) age << 30) | ((long) score << 32);
+    }
+
+    /**
+     * Gets the best move of a packed result.
+     * @param data - the packed result.
+     * @return the packed move, or Move.NONE.
+     */
+    public static int getMove(long data) {
+        return (int) (data & 0xFFFFF);
+    }
+
+    /**
+     * Gets the depth of a packed result.
+     * @param data - the packed result.
+     * @return the depth in plies.
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> 20) & 0xFF;
+    }
+
+    /**
+     * Gets the kind of bound of a packed result.
+     * @param data - the packed result.
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND.
+     */
+    public static int getBound(long data) {
+        return (int) (data >>> 28) & 3;
+    }
+
+    /**
+     * Gets the score of a packed result.
+     * @param data - the packed result.
+     * @return the score.
+     */
+    public static int getScore(long data) {
+        return (int) (data >> 32);
+    }
+
+    /**
+     * Gets the search a packed result was stored in.
+     */
+    private static int getAge(long data) {
+        return (int) (data >>> 30) & 3;
+    }
+
+    /**
+     * Gets the number of lookups made since the table was built or cleared.
+     * @return the probe count.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Gets the number of lookups which found a result.
+     * @return the hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the share of lookups which found a result.
+     * @return the hit rate between 0 and 1.
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Gets the number of results the table can hold.
+     * @return the entry count.
+     */
+    public int getCapacity() {
+        return entries.length / 2;
+    }
+
+    /**
+     * Gets the memory the table takes.
+     * @return the size of the table in bytes.
+     */
+    public long getSizeBytes() {
+        return entries.length * 8L;
+    }
+
+    /**
+     * Estimates how full the table is from the first thousand entries.
+     * @return the number of those entries holding a result of the current search, out of 1000.
+     */
+    public int getFill() {
+        int sample = Math.min(1000, getCapacity());
+        int used = 0;
+        for(int i = 0; i < sample; i++) {
+            long data = entries[i * 2 + 1];
+            if(data != 0 && getAge(data) == age) {
+                used++;
+            }
+        }
+        return sample == 0 ? 0 : used * 1000 / sample;
+    }
+}
@@ -0,0 +1,290 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+
+/**
+ * Draws a board and takes the players' moves as a single component, as an alternative to a GamePanel of 64 GridPanels. The squares,
+ * highlights and pieces are painted straight from the board on each repaint using the shared piece images, and a click is turned into a
+ * square from its coordinates, so showing a board costs one component and one mouse listener however many boards are on screen.
+ * The colours and the way pieces are picked and moved are the same as on a GamePanel.
+ */
+public class BoardView extends JComponent {
+
+    //Width in pixels of the lines between the squares.
+    private static final int GAP = 2;
+    //Size in pixels of a square at the preferred size of the view.
+    private static final int SQUARE_SIZE = 60;
+    //Space in pixels left between a piece image and the edges of its square.
+    private static final int PADDING = 5;
+
+    private static final Color LINE_COLOR = Color.BLACK;
+    private static final Color LIGHT_COLOR = new Color(231, 231, 231);
+    private static final Color DARK_COLOR = new Color(0, 204, 0);
+    private static final Color HIGHLIGHTED_COLOR = new Color(255, 255, 255);
+    private static final Color PRESSED_COLOR = new Color(255, 255, 100);
+    private static final Color SELECTED_COLOR = new Color(255, 195, 51);
+
+    private Board board;
+    //The square holding the piece whose moves are shown, the square the mouse is held down on and the square under the mouse.
+    private Square selected;
+    private Square pressed;
+    private Square hovered;
+    private Object[] options;
+
+    /**
+     * Constructs a view of a new game board.
+     */
+    public BoardView() {
+        this(new Board());
+    }
+
+    /**
+     * Constructs a view of a board.
+     * @param board - the board to show and move on.
+     */
+    public BoardView(Board board) {
+        this.board = board;
+        options = new Object[]{"Reset","Quit"};
+        int side = 8 * SQUARE_SIZE + 7 * GAP;
+        setPreferredSize(new Dimension(side, side));
+        setOpaque(true);
+        BoardListener listener = new BoardListener();
+        addMouseListener(listener);
+        addMouseMotionListener(listener);
+    }
+
+    /**
+     * Get the board the view is showing.
+     * @return the Board object the view is using for its logic.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the size of a square at the current size of the view.
+     * @return the width and height of a square in pixels.
+     */
+    private int getSquareSize() {
+        return Math.max(1, (Math.min(getWidth(), getHeight()) - 7 * GAP) / 8);
+    }
+
+    /**
+     * Gets the x pixel coordinate of the left edge of the board, which is centred in the view.
+     */
+    private int getLeft(int squareSize) {
+        return (getWidth() - 8 * squareSize - 7 * GAP) / 2;
+    }
+
+    /**
+     * Gets the y pixel coordinate of the top edge of the board, which is centred in the view.
+     */
+    private int getTop(int squareSize) {
+        return (getHeight() - 8 * squareSize - 7 * GAP) / 2;
+    }
+
+    /**
+     * Finds the square under a point of the view.
+     * @param px - the x pixel coordinate of the point.
+     * @param py - the y pixel coordinate of the point.
+     * @return the Square object under the point, or null if the point lies off the board or on a line between squares.
+     */
+    public Square squareAt(int px, int py) {
+        int size = getSquareSize();
+        int dx = px - getLeft(size);
+        int dy = py - getTop(size);
+        if(dx < 0 || dy < 0) {
+            return null;
+        }
+        int x = dx / (size + GAP);
+        int y = dy / (size + GAP);
+        if(x > Board.RIGHT_X_BOUNDARY || y > Board.DOWN_Y_BOUNDARY || dx % (size + GAP) >= size || dy % (size + GAP) >= size) {
+            return null;
+        }
+        return board.getGrid()[x][y];
+    }
+
+    /**
+     * Paints the lines, the squares in the colour of their state and the pieces on them.
+     * @param g - the graphics context to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        int size = getSquareSize();
+        int left = getLeft(size);
+        int top = getTop(size);
+        g.setColor(LINE_COLOR);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        ArrayList<Square> selectables = board.getSelectables();
+        Square[][] grid = board.getGrid();
+        Rectangle clip = g.getClipBounds();
+        int iconSize = Math.max(1, size - 2 * PADDING);
+        for(int y = 0; y < 8; y++) {
+            for(int x = 0; x < 8; x++) {
+                int sx = left + x * (size + GAP);
+                int sy = top + y * (size + GAP);
+                if(clip != null && !clip.intersects(sx, sy, size, size)) {
+                    continue;
+                }
+                Square square = grid[x][y];
+                g.setColor(getColor(square, selectables));
+                g.fillRect(sx, sy, size, size);
+                Piece piece = square.getPiece();
+                if(piece != null) {
+                    ImageIcon icon = PieceIcons.getIcon(piece.isUp(), piece.getType(), iconSize);
+                    icon.paintIcon(this, g, sx + (size - icon.getIconWidth()) / 2, sy + (size - icon.getIconHeight()) / 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the colour a square is painted in, the same as a GridPanel in the same state.
+     */
+    private Color getColor(Square square, ArrayList<Square> selectables) {
+        if(square == selected || selectables.contains(square)) {
+            return SELECTED_COLOR;
+        }
+        if(square == pressed) {
+            return PRESSED_COLOR;
+        }
+        if(square == hovered && selected == null) {
+            return HIGHLIGHTED_COLOR;
+        }
+        return (square.getX() + square.getY()) % 2 == 0 ? DARK_COLOR : LIGHT_COLOR;
+    }
+
+    /**
+     * Repaints only the area of one square.
+     * @param square - the square to repaint, or null for none.
+     */
+    private void repaint(Square square) {
+        if(square != null) {
+            int size = getSquareSize();
+            repaint(getLeft(size) + square.getX() * (size + GAP), getTop(size) + square.getY() * (size + GAP), size, size);
+        }
+    }
+
+    /**
+     * Checks to see if a square holds a piece of the player whose turn it is.
+     */
+    private boolean isMovable(Square square) {
+        return square != null && square.hasPiece() && (square.getPiece().isUp() ? board.getUpperPlayer().isTurn() : board.getLowerPlayer().isTurn());
+    }
+
+    /**
+     * Forgets the selected piece and the moves shown for it.
+     */
+    private void resetSelectables() {
+        selected = null;
+        board.getSelectables().clear();
+    }
+
+    /**
+     * Moves the selected piece to a square and tells the players when the game is over.
+     * @param target - the square to move to.
+     */
+    private void move(Square target) {
+        Piece piece = selected.getPiece();
+        resetSelectables();
+        board.move(piece, target);
+        repaint();
+        if(board.getUpperPlayer().isCheckMate()) {
+            showEndDialog("White Player Wins!");
+        }
+        else if(board.getLowerPlayer().isCheckMate()) {
+            showEndDialog("Black Player Wins!");
+        }
+        else if(board.getStatus() == MoveGenerator.STALEMATE) {
+            showEndDialog("Stalemate! The game is a draw.");
+        }
+    }
+
+    public void showEndDialog(String message) {
+        JOptionPane.showMessageDialog(null,message);
+        int choice = JOptionPane.showOptionDialog(null,"Click \" Reset \" to play again or \" Quit \" to stop.","Play Again?",
+                JOptionPane.YES_NO_OPTION,JOptionPane.PLAIN_MESSAGE,null,options,options[0]);
+        if(choice == JOptionPane.YES_OPTION) {
+            reset();
+        }
+        else if(choice == JOptionPane.NO_OPTION) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Starts a new game on the board. Only the board is set up again, since the view holds no components of its own.
+     */
+    public void reset() {
+        board.reset();
+        resetSelectables();
+        pressed = null;
+        hovered = null;
+        repaint();
+    }
+
+    /**
+     * A class which observes the mouse over the board and turns its position into squares.
+     */
+    class BoardListener extends MouseAdapter {
+        /**
+         * Activated when the mouse moves over the view, highlighting the square under it.
+         * @param event - the event which took place.
+         */
+        public void mouseMoved(MouseEvent event) {
+            Square square = squareAt(event.getX(), event.getY());
+            if(square != hovered) {
+                Square old = hovered;
+                hovered = square;
+                repaint(old);
+                repaint(square);
+            }
+        }
+
+        /**
+         * Activated in the event a mouses's cursor exits the view.
+         * @param event - the event which took place.
+         */
+        public void mouseExited(MouseEvent event) {
+            Square old = hovered;
+            hovered = null;
+            repaint(old);
+        }
+
+        /**
+         * Activated in the event a mouses's cursor presses and holds a square.
+         * @param event - the event which took place.
+         */
+        public void mousePressed(MouseEvent event) {
+            //Will only mark squares holding a piece of the player who has the turn.
+            Square square = squareAt(event.getX(), event.getY());
+            if(isMovable(square)) {
+                pressed = square;
+                repaint(square);
+            }
+        }
+
+        /**
+         * Activated in the event a mouses's clicker is released, which moves the selected piece to a square it may move to, selects another
+         * piece of the player who has the turn and shows its moves, or otherwise drops the selection.
+         * @param event - the event which took place.
+         */
+        public void mouseReleased(MouseEvent event) {
+            Square square = squareAt(event.getX(), event.getY());
+            pressed = null;
+            if(square != null && selected != null && board.isMoveSelection(square)) {
+                move(square);
+                return;
+            }
+            boolean reselect = isMovable(square) && square != selected;
+            resetSelectables();
+            if(reselect) {
+                board.processSelectables(square);
+                selected = square;
+            }
+            repaint();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves the image which represents a piece in the graphics view. The pieces themselves hold no images, so the board and the engine can
+ * run without loading any Swing classes.
+ *
+ * Each of the twelve image files is read once, the first time any image is asked for, and the same ImageIcon objects are handed out to every
+ * board, game and reset after that. Images scaled to fit a square are kept for the few square sizes used most recently, so resizing a window
+ * does not keep the images of every size it passed through.
+ */
+public class PieceIcons {
+
+    //Folder holding the piece images, named by shade and piece, such as darkPawn.png.
+    private static final String ICON_FOLDER = "pieces/pieceIcons/";
+
+    //Names of the piece types in the image file names, indexed by the type constants of Piece.
+    private static final String[] NAMES = {"Pawn", "Knight", "Bishop", "Rook", "Queen", "King"};
+
+    //Number of square sizes whose scaled images are kept.
+    private static final int MAX_SIZES = 4;
+
+    //Images scaled to the square sizes used most recently, indexed like the images as they were read. Looking a size up moves it to the end,
+    //and the size used longest ago is dropped once more than MAX_SIZES are kept.
+    private static final Map<Integer, ImageIcon[]> SCALED = new LinkedHashMap<Integer, ImageIcon[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ImageIcon[]> eldest) {
+            return size() > MAX_SIZES;
+        }
+    };
+
+    private PieceIcons() {
+    }
+
+    /**
+     * Holds the images as they were read, which the class loader creates the first time they are asked for.
+     */
+    private static class Loaded {
+
+        //Images indexed by side * 6 + type, with the lower side 0 and the upper side 1 as in Position.
+        private static final ImageIcon[] ICONS = new ImageIcon[12];
+
+        static {
+            for(int i = 0; i < ICONS.length; i++) {
+                ICONS[i] = new ImageIcon(getPath(i >= 6, i % 6));
+            }
+        }
+    }
+
+    /**
+     * Gets the image of a piece at the size of its file.
+     * @param piece - the piece to represent.
+     * @return a shared ImageIcon object.
+     */
+    public static ImageIcon getIcon(Piece piece) {
+        return getIcon(piece.isUp(), piece.getType());
+    }
+
+    /**
+     * Gets the image of a piece at the size of its file.
+     * @param up - what side of the board the piece is on. True for 'up', false for 'down'.
+     * @param type - the type of the piece.
+     * @return a shared ImageIcon object.
+     */
+    public static ImageIcon getIcon(boolean up, int type) {
+        return Loaded.ICONS[Position.sideOf(up) * 6 + type];
+    }
+
+    /**
+     * Gets the image of a piece scaled to fit a square, keeping its proportions.
+     * @param up - what side of the board the piece is on. True for 'up', false for 'down'.
+     * @param type - the type of the piece.
+     * @param size - the width and height of the square in pixels.
+     * @return a shared ImageIcon object.
+     */
+    public static ImageIcon getIcon(boolean up, int type, int size) {
+        ImageIcon[] icons;
+        synchronized(SCALED) {
+            icons = SCALED.computeIfAbsent(size, PieceIcons::scaleAll);
+        }
+        return icons[Position.sideOf(up) * 6 + type];
+    }
+
+    /**
+     * Scales every image to fit a square. An image whose file could not be read is kept as it is.
+     */
+    private static ImageIcon[] scaleAll(int size) {
+        ImageIcon[] scaled = new ImageIcon[Loaded.ICONS.length];
+        for(int i = 0; i < scaled.length; i++) {
+            ImageIcon icon = Loaded.ICONS[i];
+            int width = icon.getIconWidth();
+            int height = icon.getIconHeight();
+            if(width <= 0 || height <= 0 || (width == size && height <= size) || (height == size && width <= size)) {
+                scaled[i] = icon;
+                continue;
+            }
+            double scale = (double) size / Math.max(width, height);
+            int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+            int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+            scaled[i] = new ImageIcon(icon.getImage().getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH));
+        }
+        return scaled;
+    }
+
+    /**
+     * Gets the path of the image file of a piece. Pieces in the upper half are dark and pieces in the lower half are light.
+     * @param up - what side of the board the piece is on. True for 'up', false for 'down'.
+     * @param type - the type of the piece.
+     * @return the path of the image file.
+     */
+    public static String getPath(boolean up, int type) {
+        return ICON_FOLDER + (up ? "dark" : "light") + NAMES[type] + ".png";
+    }
+}
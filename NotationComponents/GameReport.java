@@ -0,0 +1,101 @@
+/**
+ * Holds the outcome of replaying one game of a PGN file: whether every move was legal, the first move which was not, and the state the game
+ * was left in after the last legal move.
+ */
+public class GameReport {
+
+    //Constants for the outcome of replaying a game.
+    public static final int VALID = 0;
+    public static final int ILLEGAL = 1;
+    public static final int UNSUPPORTED = 2;
+    public static final int FAILED = 3;
+
+    private long number;
+    private int outcome;
+    private int plies;
+    private String badMove;
+    private int status;
+    private String result;
+
+    /**
+     * Constructs a report.
+     * @param number - the number of the game in its file.
+     * @param outcome - VALID, ILLEGAL, UNSUPPORTED or FAILED.
+     * @param plies - the number of moves replayed before the game ended or a move was rejected.
+     * @param badMove - the move which was rejected, the exception a failed game threw, or null if every move was replayed.
+     * @param status - IN_PLAY, CHECKMATE or STALEMATE of MoveGenerator for the position the game was left in.
+     * @param result - the result the game claims.
+     */
+    public GameReport(long number, int outcome, int plies, String badMove, int status, String result) {
+        this.number = number;
+        this.outcome = outcome;
+        this.plies = plies;
+        this.badMove = badMove;
+        this.status = status;
+        this.result = result;
+    }
+
+    /**
+     * Gets the number of the game in its file.
+     * @return the game number, counting from 1.
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Gets the outcome of replaying the game.
+     * @return VALID, ILLEGAL, UNSUPPORTED for a game using castling, en passant, promotion or a starting position this board cannot hold,
+     * or FAILED for a game which threw an exception while it was replayed.
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the number of moves replayed, which is also the index of the rejected move of a game which is not valid.
+     * @return the number of moves replayed, counting the moves of each side separately.
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Gets the move which was rejected.
+     * @return the move as written in the file, the exception of a failed game, or null for a valid game.
+     */
+    public String getBadMove() {
+        return badMove;
+    }
+
+    /**
+     * Gets the state of the game after the last move replayed.
+     * @return IN_PLAY, CHECKMATE or STALEMATE of MoveGenerator.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the result the game claims in the file.
+     * @return 1-0, 0-1, 1/2-1/2 or *.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        String state = status == MoveGenerator.CHECKMATE ? "checkmate" : status == MoveGenerator.STALEMATE ? "stalemate" : "in play";
+        switch(outcome) {
+            case ILLEGAL:
+                return "Game " + number + ": illegal move " + badMove + " at ply " + (plies + 1) + ", " + state + " before it";
+            case UNSUPPORTED:
+                return "Game " + number + ": unsupported " + badMove + " at ply " + (plies + 1) + ", " + state + " before it";
+            case FAILED:
+                return "Game " + number + ": could not be replayed, " + badMove;
+            default:
+                return "Game " + number + ": " + plies + " moves, " + state + ", " + result;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Replays the games of a PGN file on a Position to check that every move is legal under the rules of this board, reporting the first
+ * move of each game which is not and the state each game is left in. Games can be checked on the calling thread or on a pool of worker
+ * threads, in which case one thread reads the games into a fixed number of recycled PgnGame objects and the workers replay them,
+ * so memory use stays the same however large the file is.
+ */
+public class GameValidator {
+
+    //Number of games waiting to be replayed per worker thread.
+    private static final int GAMES_PER_WORKER = 64;
+
+    //The position every game without a FEN tag starts from, copied for each game.
+    private static final Position START = new Board().getPosition();
+
+    private int[] moves;
+    private long movesReplayed;
+
+    /**
+     * Constructs a validator with its own move buffer. A validator replays one game at a time.
+     */
+    public GameValidator() {
+        moves = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * Replays a game.
+     * @param game - the game to replay.
+     * @return the report of the game.
+     */
+    public GameReport validate(PgnGame game) {
+        Position position;
+        String fen = game.getTag("FEN");
+        if(fen == null) {
+            position = new Position(START);
+        }
+        else {
+            try {
+                position = new Board(fen).getPosition();
+            }
+            catch(IllegalArgumentException e) {
+                return new GameReport(game.getNumber(), GameReport.UNSUPPORTED, 0, "FEN " + fen, MoveGenerator.IN_PLAY, game.getResult());
+            }
+        }
+        byte[] text = game.getText();
+        for(int i = 0; i < game.getMoveCount(); i++) {
+            int move = San.decode(position, text, game.getMoveStart(i), game.getMoveEnd(i), moves);
+            if(move == Move.NONE || move == San.UNSUPPORTED) {
+                int outcome = move == Move.NONE ? GameReport.ILLEGAL : GameReport.UNSUPPORTED;
+                movesReplayed += i;
+                return new GameReport(game.getNumber(), outcome, i, game.getMove(i), MoveGenerator.getStatus(position, moves), game.getResult());
+            }
+            position.makeMove(move);
+        }
+        movesReplayed += game.getMoveCount();
+        return new GameReport(game.getNumber(), GameReport.VALID, game.getMoveCount(), null, MoveGenerator.getStatus(position, moves),
+                game.getResult());
+    }
+
+    /**
+     * Replays a game, turning an exception thrown while replaying it into a report of a game which failed, so one broken game does not
+     * stop the rest of the file from being checked.
+     * @param game - the game to replay.
+     * @return the report of the game.
+     */
+    public GameReport validateSafely(PgnGame game) {
+        try {
+            return validate(game);
+        }
+        catch(RuntimeException e) {
+            return new GameReport(game.getNumber(), GameReport.FAILED, 0, e.toString(), MoveGenerator.IN_PLAY, game.getResult());
+        }
+    }
+
+    /**
+     * Gets the number of legal moves this validator has replayed.
+     * @return the move count.
+     */
+    public long getMovesReplayed() {
+        return movesReplayed;
+    }
+
+    /**
+     * Replays every game of a file on the calling thread.
+     * @param reader - the reader of the file.
+     * @param reports - receives the report of each game, in the order of the file.
+     * @return the number of legal moves replayed.
+     * @throws IOException if the file cannot be read.
+     */
+    public static long validateAll(PgnReader reader, Consumer<GameReport> reports) throws IOException {
+        GameValidator validator = new GameValidator();
+        PgnGame game = new PgnGame();
+        while(reader.next(game)) {
+            reports.accept(validator.validateSafely(game));
+        }
+        return validator.getMovesReplayed();
+    }
+
+    /**
+     * Replays every game of a file on a pool of worker threads while the calling thread reads the file.
+     * @param reader - the reader of the file.
+     * @param threads - the number of worker threads, at least 1.
+     * @param reports - receives the report of each game on the worker thread which replayed it, so it must be safe to call from several
+     *                threads at once. The reports do not come in the order of the file.
+     * @return the number of legal moves replayed.
+     * @throws IOException if the file cannot be read.
+     * @throws RuntimeException the first exception the reports consumer threw, after which the rest of the file is not read.
+     */
+    public static long validateAll(PgnReader reader, int threads, Consumer<GameReport> reports) throws IOException {
+        if(threads < 1) {
+            throw new IllegalArgumentException("Validating needs at least one thread, not " + threads);
+        }
+        //Empty games go back and forth between the reader and the workers, and an empty game with no number tells a worker to stop.
+        BlockingQueue<PgnGame> free = new ArrayBlockingQueue<>(threads * GAMES_PER_WORKER);
+        BlockingQueue<PgnGame> work = new ArrayBlockingQueue<>(threads * GAMES_PER_WORKER + threads);
+        for(int i = 0; i < threads * GAMES_PER_WORKER; i++) {
+            free.add(new PgnGame());
+        }
+        AtomicLong replayed = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for(int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                GameValidator validator = new GameValidator();
+                try {
+                    PgnGame game;
+                    while((game = work.take()).getNumber() != 0) {
+                        //A worker never dies on a game and always hands the game back, so the reader cannot wait for a free game forever.
+                        try {
+                            if(failure.get() == null) {
+                                reports.accept(validator.validateSafely(game));
+                            }
+                        }
+                        catch(Throwable t) {
+                            failure.compareAndSet(null, t);
+                        }
+                        finally {
+                            free.offer(game);
+                        }
+                    }
+                }
+                catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    replayed.addAndGet(validator.getMovesReplayed());
+                }
+            }, "pgn-validator-" + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        try {
+            PgnGame game = free.take();
+            while(failure.get() == null && reader.next(game)) {
+                work.put(game);
+                game = free.take();
+            }
+            for(int i = 0; i < threads; i++) {
+                work.put(new PgnGame());
+            }
+            for(Thread worker:workers) {
+                worker.join();
+            }
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            for(Thread worker:workers) {
+                worker.interrupt();
+            }
+        }
+        Throwable t = failure.get();
+        if(t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if(t instanceof Error) {
+            throw (Error) t;
+        }
+        return replayed.get();
+    }
+
+    /**
+     * Replays every game of a PGN file, printing the games which are not valid and a summary.
+     * @param args - the path of the file, and optionally the number of worker threads.
+     * @throws IOException if the file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.err.println("Usage: GameValidator <file.pgn> [threads]");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        AtomicLong games = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        Consumer<GameReport> print = report -> {
+            games.incrementAndGet();
+            if(report.getOutcome() != GameReport.VALID) {
+                rejected.incrementAndGet();
+                System.out.println(report);
+            }
+        };
+        long start = System.nanoTime();
+        long replayed;
+        try(PgnReader reader = new PgnReader(Paths.get(args[0]))) {
+            replayed = threads == 1 ? validateAll(reader, print) : validateAll(reader, threads, print);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d not valid, %d moves in %.2f s (%.0f moves/s)%n", games.get(), rejected.get(), replayed, seconds,
+                replayed / seconds);
+    }
+}
@@ -0,0 +1,175 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds one game read from a PGN file: its tag pairs, its result and the moves of its main line in Standard Algebraic Notation.
+ * The moves are kept as ASCII bytes one after another in a single growing array instead of one String each, and the object is meant to be
+ * cleared and filled again for every game read so that reading a large archive creates as few objects as possible.
+ */
+public class PgnGame {
+
+    private Map<String, String> tags;
+    private String result;
+    //The text of every move, one after another, and the index in it just past the end of each move.
+    private byte[] text;
+    private int length;
+    private int[] moveEnds;
+    private int moveCount;
+    //The number of the game in the file it was read from, counting from 1.
+    private long number;
+
+    /**
+     * Constructs an empty game.
+     */
+    public PgnGame() {
+        tags = new HashMap<>();
+        text = new byte[1024];
+        moveEnds = new int[256];
+        clear();
+    }
+
+    /**
+     * Empties the game so it can be filled with the next one read.
+     */
+    public void clear() {
+        tags.clear();
+        result = "*";
+        length = 0;
+        moveCount = 0;
+        number = 0;
+    }
+
+    /**
+     * Adds a tag pair.
+     * @param name - the name of the tag.
+     * @param value - the value of the tag.
+     */
+    public void setTag(String name, String value) {
+        tags.put(name, value);
+    }
+
+    /**
+     * Gets the value of a tag pair.
+     * @param name - the name of the tag.
+     * @return the value of the tag, or null if the game does not have it.
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Gets every tag pair of the game.
+     * @return the map of tag names to values.
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets the result the game ended with: 1-0, 0-1, 1/2-1/2 or * for a game still going on or whose result is unknown.
+     * @return the result.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Sets the result the game ended with.
+     * @param result - the result.
+     */
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * Gets the number of the game in the file it was read from.
+     * @return the game number, counting from 1.
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Sets the number of the game in the file it was read from.
+     * @param number - the game number, counting from 1.
+     */
+    public void setNumber(long number) {
+        this.number = number;
+    }
+
+    /**
+     * Starts a new move at the end of the move text, to which the characters of the move are then appended with appendToMove.
+     */
+    public void startMove() {
+        if(moveCount == moveEnds.length) {
+            moveEnds = Arrays.copyOf(moveEnds, moveCount * 2);
+        }
+        moveEnds[moveCount++] = length;
+    }
+
+    /**
+     * Appends a character to the last move started.
+     * @param b - the character as an ASCII byte.
+     */
+    public void appendToMove(byte b) {
+        if(length == text.length) {
+            text = Arrays.copyOf(text, length * 2);
+        }
+        text[length++] = b;
+        moveEnds[moveCount - 1] = length;
+    }
+
+    /**
+     * Takes back the last move started, for a token which turned out not to be a move after all.
+     */
+    public void removeLastMove() {
+        moveCount--;
+        length = moveCount == 0 ? 0 : moveEnds[moveCount - 1];
+    }
+
+    /**
+     * Gets the number of moves in the main line.
+     * @return the number of moves, counting the moves of each side separately.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the array holding the text of every move. Move i runs from getMoveStart(i) up to but not including getMoveEnd(i).
+     * @return the move text as ASCII bytes.
+     */
+    public byte[] getText() {
+        return text;
+    }
+
+    /**
+     * Gets the index in the move text where a move starts.
+     * @param i - the index of the move.
+     * @return the index of its first character.
+     */
+    public int getMoveStart(int i) {
+        return i == 0 ? 0 : moveEnds[i - 1];
+    }
+
+    /**
+     * Gets the index in the move text just past the end of a move.
+     * @param i - the index of the move.
+     * @return the index after its last character.
+     */
+    public int getMoveEnd(int i) {
+        return moveEnds[i];
+    }
+
+    /**
+     * Gets a move as a String, for reporting.
+     * @param i - the index of the move.
+     * @return the move in the notation it was read in.
+     */
+    public String getMove(int i) {
+        int start = getMoveStart(i);
+        return new String(text, start, moveEnds[i] - start, StandardCharsets.US_ASCII);
+    }
+}
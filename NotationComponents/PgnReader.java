@@ -0,0 +1,352 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the games of a PGN file one at a time through a fixed size buffer, so a file of any size can be read without holding more than
+ * one game of it in memory. Only the main line of each game is kept: comments, variations, move numbers and numeric annotation glyphs
+ * are skipped, as are the !? style suffixes of moves. A game ends at its result, or at the tag pairs of the next game when its result is
+ * missing.
+ */
+public class PgnReader implements Closeable {
+
+    //Size of the buffer the file is read through.
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int index;
+    private int limit;
+    //Buffer a tag name or value is collected in.
+    private byte[] token;
+    private long gamesRead;
+
+    /**
+     * Constructs a reader of a PGN file.
+     * @param path - the path of the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public PgnReader(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Constructs a reader of PGN text from a channel, which is closed along with the reader.
+     * @param channel - the channel to read from.
+     */
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        bytes = new byte[BUFFER_SIZE];
+        buffer = ByteBuffer.wrap(bytes);
+        token = new byte[256];
+    }
+
+    /**
+     * Reads the next game.
+     * @param game - the game to fill, which is cleared first.
+     * @return a boolean value denoting whether a game was read. (False being the end of the file was reached).
+     * @throws IOException if the file cannot be read.
+     */
+    public boolean next(PgnGame game) throws IOException {
+        game.clear();
+        boolean found = false;
+        int c;
+        while((c = read()) != -1) {
+            switch(c) {
+                case '[':
+                    if(game.getMoveCount() > 0) {
+                        //The tag pairs of the next game, so this game ended without a result.
+                        index--;
+                        return finish(game);
+                    }
+                    readTag(game);
+                    found = true;
+                    break;
+                case '{':
+                    skipComment();
+                    break;
+                case ';':
+                case '%':
+                    skipLine();
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                case '$':
+                    while(isDigit(peek())) {
+                        index++;
+                    }
+                    break;
+                case '*':
+                    game.setResult("*");
+                    return finish(game);
+                default:
+                    if(c > ' ' && c != '.' && c != ')' && c != ']') {
+                        found = true;
+                        if(readMove(game, c)) {
+                            return finish(game);
+                        }
+                    }
+                    break;
+            }
+        }
+        return found && finish(game);
+    }
+
+    /**
+     * Numbers a game which has been read.
+     */
+    private boolean finish(PgnGame game) {
+        game.setNumber(++gamesRead);
+        return true;
+    }
+
+    /**
+     * Gets the number of games read so far.
+     * @return the game count.
+     */
+    public long getGamesRead() {
+        return gamesRead;
+    }
+
+    /**
+     * Reads a token of the move text into the game as a move, unless it is a move number or a result.
+     * @return a boolean value denoting whether the token was the result, ending the game. (True being yes).
+     */
+    private boolean readMove(PgnGame game, int first) throws IOException {
+        game.startMove();
+        int c = first;
+        //Move numbers such as 12. or 12... come before the move they number, sometimes without a space.
+        boolean number = isDigit(c);
+        while(true) {
+            if(number && c == '.') {
+                game.removeLastMove();
+                while(peek() == '.') {
+                    index++;
+                }
+                c = read();
+                if(c == -1 || c <= ' ' || isDelimiter(c)) {
+                    if(c != -1) {
+                        index--;
+                    }
+                    return false;
+                }
+                game.startMove();
+                number = false;
+                continue;
+            }
+            if(number && !isDigit(c)) {
+                number = false;
+            }
+            //Annotation suffixes such as ! and ?! are not part of the move.
+            if(c != '!' && c != '?') {
+                game.appendToMove((byte) c);
+            }
+            c = peek();
+            if(c == -1 || c <= ' ' || isDelimiter(c)) {
+                break;
+            }
+            index++;
+        }
+        int move = game.getMoveCount() - 1;
+        String result = resultOf(game.getText(), game.getMoveStart(move), game.getMoveEnd(move));
+        if(result != null || game.getMoveStart(move) == game.getMoveEnd(move)) {
+            game.removeLastMove();
+        }
+        if(result != null) {
+            game.setResult(result);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the result a token stands for.
+     * @return the result, or null if the token is not a result.
+     */
+    private static String resultOf(byte[] text, int start, int end) {
+        int length = end - start;
+        if(length == 3 && text[start + 1] == '-') {
+            if(text[start] == '1' && text[start + 2] == '0') {
+                return "1-0";
+            }
+            if(text[start] == '0' && text[start + 2] == '1') {
+                return "0-1";
+            }
+        }
+        if(length == 7 && text[start] == '1' && text[start + 1] == '/' && text[start + 2] == '2' && text[start + 3] == '-') {
+            return "1/2-1/2";
+        }
+        return null;
+    }
+
+    /**
+     * Reads a tag pair such as [Event "Casual game"] whose opening bracket has been read.
+     */
+    private void readTag(PgnGame game) throws IOException {
+        int c = skipSpaces();
+        int length = 0;
+        while(c != -1 && c > ' ' && c != '"' && c != ']') {
+            length = append(length, c);
+            c = read();
+        }
+        String name = new String(token, 0, length, StandardCharsets.US_ASCII);
+        while(c != -1 && c != '"' && c != ']') {
+            c = read();
+        }
+        length = 0;
+        if(c == '"') {
+            c = read();
+            while(c != -1 && c != '"') {
+                if(c == '\\') {
+                    c = read();
+                }
+                if(c != -1) {
+                    length = append(length, c);
+                    c = read();
+                }
+            }
+            while(c != -1 && c != ']') {
+                c = read();
+            }
+        }
+        game.setTag(name, new String(token, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a byte to the token buffer, growing it if needed.
+     * @return the new length of the token.
+     */
+    private int append(int length, int c) {
+        if(length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+        }
+        token[length] = (byte) c;
+        return length + 1;
+    }
+
+    /**
+     * Skips a comment in braces whose opening brace has been read.
+     */
+    private void skipComment() throws IOException {
+        int c;
+        while((c = read()) != -1 && c != '}') {
+        }
+    }
+
+    /**
+     * Skips the rest of a line.
+     */
+    private void skipLine() throws IOException {
+        int c;
+        while((c = read()) != -1 && c != '\n') {
+        }
+    }
+
+    /**
+     * Skips a variation whose opening parenthesis has been read, along with the variations and comments nested in it.
+     */
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while(depth > 0 && (c = read()) != -1) {
+            if(c == '(') {
+                depth++;
+            }
+            else if(c == ')') {
+                depth--;
+            }
+            else if(c == '{') {
+                skipComment();
+            }
+            else if(c == ';') {
+                skipLine();
+            }
+        }
+    }
+
+    /**
+     * Skips spaces and line breaks.
+     * @return the first other character, or -1 at the end of the file.
+     */
+    private int skipSpaces() throws IOException {
+        int c;
+        while((c = read()) != -1 && c <= ' ') {
+        }
+        return c;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Checks to see if a character ends a token of the move text without being part of it.
+     */
+    private static boolean isDelimiter(int c) {
+        return c == '{' || c == '}' || c == '(' || c == ')' || c == '[' || c == ']' || c == ';' || c == '$';
+    }
+
+    /**
+     * Reads the next byte of the file, refilling the buffer from the channel when it runs out.
+     * @return the byte as an unsigned value, or -1 at the end of the file.
+     */
+    private int read() throws IOException {
+        if(index == limit && !fill()) {
+            return -1;
+        }
+        return bytes[index++] & 0xFF;
+    }
+
+    /**
+     * Gets the next byte of the file without reading past it.
+     * @return the byte as an unsigned value, or -1 at the end of the file.
+     */
+    private int peek() throws IOException {
+        if(index == limit && !fill()) {
+            return -1;
+        }
+        return bytes[index] & 0xFF;
+    }
+
+    /**
+     * Refills the buffer from the channel. The last byte read is kept at the front so that it can still be stepped back over.
+     * @return a boolean value denoting whether any bytes were read. (False being the end of the file was reached).
+     */
+    private boolean fill() throws IOException {
+        int keep = limit > 0 ? 1 : 0;
+        if(keep == 1) {
+            bytes[0] = bytes[limit - 1];
+        }
+        buffer.clear();
+        buffer.position(keep);
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while(read == 0);
+        if(read < 0) {
+            index = keep;
+            limit = keep;
+            return false;
+        }
+        index = keep;
+        limit = keep + read;
+        return true;
+    }
+
+    /**
+     * Closes the channel the games are read from.
+     * @throws IOException if the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
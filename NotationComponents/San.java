@@ -0,0 +1,207 @@
+/**
+ * Reads and writes moves in Standard Algebraic Notation, such as e4, Nbd7, exd5 or Qh4+, for the positions of this board, where the a-file
+ * lies at x = 7 and rank 1 at y = 7 so that the lower player plays white. Castling, en passant and promotion are not played on this board,
+ * so moves using them are told apart from illegal moves and reported as unsupported.
+ */
+public class San {
+
+    //Constant returned when a move uses a rule not played on this board.
+    public static final int UNSUPPORTED = -1;
+
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    private San() {
+    }
+
+    /**
+     * Finds the legal move of a position a move in algebraic notation stands for.
+     * @param position - the position the move is made in.
+     * @param text - the characters of the move as ASCII bytes.
+     * @param start - the index of the first character of the move.
+     * @param end - the index just past the last character of the move.
+     * @param moves - a buffer the legal moves of the piece type to the target square are written to while searching.
+     * @return the packed move, Move.NONE if no single legal move matches, or UNSUPPORTED for castling, en passant or promotion.
+     */
+    public static int decode(Position position, byte[] text, int start, int end, int[] moves) {
+        //Check and mate markers say nothing about which move is meant.
+        while(end > start && (text[end - 1] == '+' || text[end - 1] == '#')) {
+            end--;
+        }
+        if(end - start < 2) {
+            return Move.NONE;
+        }
+        if(text[start] == 'O' || text[start] == '0') {
+            return isCastling(text, start, end) ? UNSUPPORTED : Move.NONE;
+        }
+        int type = PIECE_LETTERS.indexOf(text[start]);
+        if(type >= 0) {
+            start++;
+        }
+        else {
+            type = Piece.PAWN;
+        }
+        //A promotion ends in the letter of the piece promoted to, with or without an equals sign before it.
+        if(type == Piece.PAWN && PIECE_LETTERS.indexOf(text[end - 1]) > 0) {
+            return UNSUPPORTED;
+        }
+        if(end - start < 2) {
+            return Move.NONE;
+        }
+        int toX = fileToX(text[end - 2]);
+        int toY = rankToY(text[end - 1]);
+        if(toX < 0 || toY < 0) {
+            return Move.NONE;
+        }
+        int to = Position.index(toX, toY);
+        //What is left between the piece letter and the target square narrows down the square the piece moves from.
+        int fromX = -1;
+        int fromY = -1;
+        boolean capture = false;
+        for(int i = start; i < end - 2; i++) {
+            byte c = text[i];
+            if(c == 'x' || c == ':') {
+                capture = true;
+            }
+            else if(fileToX(c) >= 0) {
+                fromX = fileToX(c);
+            }
+            else if(rankToY(c) >= 0) {
+                fromY = rankToY(c);
+            }
+            else if(c != '-') {
+                return Move.NONE;
+            }
+        }
+        //A pawn moves straight up its file unless it captures, and a pawn capture always names the file the pawn leaves from.
+        if(type == Piece.PAWN) {
+            if(!capture) {
+                if(fromX >= 0 && fromX != toX) {
+                    return Move.NONE;
+                }
+                fromX = toX;
+            }
+            else if(fromX < 0) {
+                return Move.NONE;
+            }
+        }
+        int found = Move.NONE;
+        int count = MoveGenerator.generateLegal(position, moves, 0, 1L << to, position.getPieces(position.getSideToMove(), type));
+        for(int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.getFrom(move);
+            if((fromX >= 0 && Position.getX(from) != fromX) || (fromY >= 0 && Position.getY(from) != fromY)) {
+                continue;
+            }
+            if(found != Move.NONE) {
+                //Two pieces fit the notation, so it does not say which one moves.
+                return Move.NONE;
+            }
+            found = move;
+        }
+        if(found == Move.NONE && type == Piece.PAWN && capture && !position.isOccupied(to) && isEnPassant(position, to, fromX)) {
+            return UNSUPPORTED;
+        }
+        //The capture marker has to agree with the move, so Nxf3 onto an empty square is not read as Nf3.
+        if(found != Move.NONE && Move.isCapture(found) != capture) {
+            return Move.NONE;
+        }
+        return found;
+    }
+
+    /**
+     * Writes a legal move in algebraic notation, naming the file or rank the piece moves from when another piece of the same type
+     * could move to the same square, and marking check and mate.
+     * @param position - the position the move is made in, which is left as it was.
+     * @param move - the packed move.
+     * @param moves - a buffer moves are written to while checking for other pieces and mate.
+     * @return the move in algebraic notation.
+     */
+    public static String encode(Position position, int move, int[] moves) {
+        StringBuilder san = new StringBuilder(8);
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int type = Move.getPiece(move);
+        if(type == Piece.PAWN) {
+            if(Move.isCapture(move)) {
+                san.append(xToFile(Position.getX(from)));
+            }
+        }
+        else {
+            san.append(PIECE_LETTERS.charAt(type));
+            boolean sameFile = false;
+            boolean sameRank = false;
+            boolean other = false;
+            int count = MoveGenerator.generateLegal(position, moves, 0, 1L << to, position.getPieces(position.getSideToMove(), type));
+            for(int i = 0; i < count; i++) {
+                int otherFrom = Move.getFrom(moves[i]);
+                if(otherFrom != from) {
+                    other = true;
+                    sameFile |= Position.getX(otherFrom) == Position.getX(from);
+                    sameRank |= Position.getY(otherFrom) == Position.getY(from);
+                }
+            }
+            if(other && (!sameFile || sameRank)) {
+                san.append(xToFile(Position.getX(from)));
+            }
+            if(other && sameFile) {
+                san.append(yToRank(Position.getY(from)));
+            }
+        }
+        if(Move.isCapture(move)) {
+            san.append('x');
+        }
+        san.append(xToFile(Position.getX(to))).append(yToRank(Position.getY(to)));
+        position.makeMove(move);
+        if(position.isInCheck(position.getSideToMove())) {
+            san.append(MoveGenerator.hasLegalMove(position, moves) ? '+' : '#');
+        }
+        position.unmakeMove();
+        return san.toString();
+    }
+
+    /**
+     * Checks to see if a capture onto an empty square could only be en passant: a pawn of the other side has just moved two squares
+     * past the target square, next to the file the capturing pawn came from.
+     */
+    private static boolean isEnPassant(Position position, int to, int fromX) {
+        int last = position.getLastMove();
+        if(!Move.isDoublePush(last)) {
+            return false;
+        }
+        int passed = (Move.getFrom(last) + Move.getTo(last)) / 2;
+        return passed == to && Math.abs(fromX - Position.getX(to)) == 1;
+    }
+
+    private static boolean isCastling(byte[] text, int start, int end) {
+        for(int i = start; i < end; i++) {
+            if(text[i] != 'O' && text[i] != '0' && text[i] != '-') {
+                return false;
+            }
+        }
+        return end - start == 3 || end - start == 5;
+    }
+
+    /**
+     * Gets the x-coordinate of a file letter.
+     * @return the x-coordinate, or -1 if the character is not a file.
+     */
+    private static int fileToX(int c) {
+        return c >= 'a' && c <= 'h' ? 7 - (c - 'a') : -1;
+    }
+
+    /**
+     * Gets the y-coordinate of a rank digit.
+     * @return the y-coordinate, or -1 if the character is not a rank.
+     */
+    private static int rankToY(int c) {
+        return c >= '1' && c <= '8' ? 8 - (c - '0') : -1;
+    }
+
+    private static char xToFile(int x) {
+        return (char) ('a' + 7 - x);
+    }
+
+    private static char yToRank(int y) {
+        return (char) ('8' - y);
+    }
+}
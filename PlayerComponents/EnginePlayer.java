@@ -0,0 +1,92 @@
+/**
+ * A player whose moves are chosen by searching the board's position instead of by clicks on the board.
+ * Each move is searched to a depth limit or until a node budget runs out, whichever comes first. The searches of one player share a
+ * transposition table, and may run on several threads, from one move to the next and from one game to the next.
+ */
+public class EnginePlayer extends Player {
+
+    //Size of the transposition table of a player which is not given a search of its own.
+    private static final int TABLE_MEGABYTES = 16;
+
+    private ParallelSearch search;
+    private int maxDepth;
+    private long maxNodes;
+
+    /**
+     * Constructs an engine player which takes over the pieces and state of an existing player and searches on one thread with a
+     * transposition table of its own.
+     * @param player - the player whose pieces the engine plays.
+     * @param maxDepth - the depth in plies each move is searched to.
+     * @param maxNodes - the number of nodes each move may search, or 0 for no limit.
+     */
+    public EnginePlayer(Player player, int maxDepth, long maxNodes) {
+        this(player, new ParallelSearch(1, new TranspositionTable(TABLE_MEGABYTES)), maxDepth, maxNodes);
+    }
+
+    /**
+     * Constructs an engine player which takes over the pieces and state of an existing player.
+     * @param player - the player whose pieces the engine plays.
+     * @param search - the search to choose moves with, which sets the number of threads and the transposition table.
+     * @param maxDepth - the depth in plies each move is searched to.
+     * @param maxNodes - the number of nodes each move may search, or 0 for no limit.
+     */
+    public EnginePlayer(Player player, ParallelSearch search, int maxDepth, long maxNodes) {
+        super(player.getPieces(), player.getKing());
+        setTurn(player.isTurn());
+        setCheck(player.isCheck());
+        setCheckMate(player.isCheckMate());
+        this.search = search;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Searches the board for the best move of the side to move.
+     * @param board - the board to search.
+     * @return the packed move, or Move.NONE if there is no legal move.
+     */
+    public int chooseMove(Board board) {
+        return search.search(board.getPosition(), maxDepth, maxNodes);
+    }
+
+    /**
+     * Chooses a move and plays it on the board.
+     * @param board - the board to play on.
+     * @return a boolean value denoting whether a move was played. (True being yes).
+     */
+    public boolean play(Board board) {
+        int move = chooseMove(board);
+        if(move == Move.NONE) {
+            return false;
+        }
+        Square[][] grid = board.getGrid();
+        Square from = grid[Position.getX(Move.getFrom(move))][Position.getY(Move.getFrom(move))];
+        Square to = grid[Position.getX(Move.getTo(move))][Position.getY(Move.getTo(move))];
+        board.move(from.getPiece(), to);
+        return true;
+    }
+
+    /**
+     * Gets the search the engine plays with, whose main search holds the score, depth and line of the last move chosen.
+     * @return the ParallelSearch object of this player.
+     */
+    public ParallelSearch getSearch() {
+        return search;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+}
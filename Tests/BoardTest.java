@@ -1,19 +1,149 @@
-import org.junit.Test;
-import org.junit.runners.Parameterized;
-
-import java.util.Collection;
-
-import static org.junit.Assert.*;
-
-/**
- * Created by Brandon on 2017-03-18.
- */
-public class BoardTest {
-
-    @Test
-    public void checkForCheck() throws Exception {
-
-    }
-
-
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created by Brandon on 2017-03-18.
+ */
+public class BoardTest {
+
+    @Test
+    public void checkForCheck() throws Exception {
+        //Plays the fool's mate, ending with the upper queen checking the lower king along the diagonal the lower pawns opened.
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        board.move(grid[2][6].getPiece(), grid[2][5]);
+        board.move(grid[3][1].getPiece(), grid[3][3]);
+        board.move(grid[1][6].getPiece(), grid[1][4]);
+        assertFalse(board.getLowerPlayer().isCheck());
+        board.move(grid[4][0].getPiece(), grid[0][4]);
+        assertTrue(board.getLowerPlayer().isCheck());
+        assertTrue(board.getLowerPlayer().isCheckMate());
+        assertFalse(board.getUpperPlayer().isCheck());
+    }
+
+    @Test
+    public void isSquareAttacked() throws Exception {
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        //Squares in front of the pawns are attacked diagonally, squares beyond them are not.
+        assertTrue(board.isSquareAttacked(grid[3][5], false));
+        assertTrue(board.isSquareAttacked(grid[3][2], true));
+        assertFalse(board.isSquareAttacked(grid[3][4], false));
+        assertFalse(board.isSquareAttacked(grid[3][3], true));
+        //Opening the diagonal in front of the upper queen lets it reach further.
+        assertFalse(board.isSquareAttacked(grid[0][4], true));
+        board.move(grid[3][6].getPiece(), grid[3][4]);
+        board.move(grid[3][1].getPiece(), grid[3][3]);
+        assertTrue(board.isSquareAttacked(grid[0][4], true));
+    }
+
+    @Test
+    public void isHanging() throws Exception {
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        board.move(grid[3][6].getPiece(), grid[3][4]);
+        board.move(grid[4][1].getPiece(), grid[4][3]);
+        //The lower pawn can be taken for free, while the upper pawn is defended by the upper queen so taking it only trades pawns.
+        assertTrue(board.isHanging(grid[3][4]));
+        assertFalse(board.isHanging(grid[4][3]));
+        assertEquals(0, board.exchangeValue(grid[3][4].getPiece(), grid[4][3]));
+        assertFalse(board.isHanging(grid[0][0]));
+    }
+
+    @Test
+    public void fen() throws Exception {
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1", board.toFen());
+        board.move(grid[3][6].getPiece(), grid[3][4]);
+        board.move(grid[1][0].getPiece(), grid[2][2]);
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w - - 1 2", board.toFen());
+        board.unmakeMove();
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1", board.toFen());
+        //A pawn off its home row may no longer move two squares, and the check of the side to move is picked up on loading.
+        board = new Board("4k3/8/8/8/8/4P3/8/R3K3 b - - 3 40");
+        grid = board.getGrid();
+        assertEquals("4k3/8/8/8/8/4P3/8/R3K3 b - - 3 40", board.toFen());
+        assertFalse(((Pawn) grid[3][5].getPiece()).isStart());
+        assertFalse(board.getUpperPlayer().isCheck());
+        board = new Board("R3k3/8/8/8/8/8/8/4K3 b - -");
+        assertTrue(board.getUpperPlayer().isCheck());
+        assertEquals("R3k3/8/8/8/8/8/8/4K3 b - - 0 1", board.toFen());
+        for(String fen:new String[] {"8/8/8/8/8/8/8/4K3 w - - 0 1", "4k3/8/8/8/8/8/8/4K3 x - - 0 1", "4k3/9/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4K2X w - - 0 1", "4k3/8/8/8/8/8/4K3 w - - 0 1", "4k3/8/8/8/8/8/8/4K3 w - - a 1"}) {
+            try {
+                new Board(fen);
+                fail("Loaded " + fen);
+            }
+            catch(IllegalArgumentException e) {
+                //Expected.
+            }
+        }
+    }
+
+    @Test
+    public void badFenLeavesBoardUnchanged() throws Exception {
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        board.move(grid[3][6].getPiece(), grid[3][4]);
+        String fen = board.toFen();
+        long hash = board.hash();
+        //The fifth one has a foe rook checking the king of the side which has just moved, and the last two have pawns on the edge ranks.
+        for(String bad:new String[] {"4k3/8/8/8/8/8/8/4K3 w - - 0 1x", "4k3/8/8/8/8/8/8/4K3 w - - -1 1", "4k3/8/8/8/8/8/8/4K3 w - - 0 0",
+                "4k3/8/8/8/8/8/8/4K2X w - - 0 1", "R3k3/8/8/8/8/8/8/4K3 w - - 0 1", "P3k3/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/p3K3 w - - 0 1"}) {
+            try {
+                board.loadFen(bad);
+                fail("Loaded " + bad);
+            }
+            catch(IllegalArgumentException e) {
+                //Expected.
+            }
+            assertSame(grid, board.getGrid());
+            assertEquals(fen, board.toFen());
+            assertEquals(hash, board.hash());
+            assertEquals(16, board.getUpperPlayer().getPieces().size());
+            assertEquals(16, board.getLowerPlayer().getPieces().size());
+        }
+        board.move(grid[4][1].getPiece(), grid[4][3]);
+        assertEquals("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w - - 0 2", board.toFen());
+    }
+
+    @Test
+    public void movesOnlyToSelectableSquares() throws Exception {
+        Board board = new Board();
+        Square[][] grid = board.getGrid();
+        assertFalse(board.isMoveSelection(grid[3][4]));
+        //The pawn on e2 may go to e3 or e4, but not to e5 or across to d3.
+        assertEquals(2, board.processSelectables(grid[3][6]).size());
+        assertTrue(board.isMoveSelection(grid[3][5]));
+        assertTrue(board.isMoveSelection(grid[3][4]));
+        assertFalse(board.isMoveSelection(grid[3][3]));
+        assertFalse(board.isMoveSelection(grid[4][5]));
+        board.getSelectables().clear();
+        assertFalse(board.isMoveSelection(grid[3][4]));
+    }
+
+    @Test
+    public void enginePlayerKeepsItsSeatAfterReset() throws Exception {
+        Board board = new Board();
+        EnginePlayer engine = new EnginePlayer(board.getLowerPlayer(), 2, 0);
+        board.setLowerPlayer(engine);
+        assertTrue(engine.play(board));
+        assertTrue(engine.getSearch().getTable().getProbes() > 0);
+        board.reset();
+        assertSame(engine, board.getLowerPlayer());
+        assertTrue(engine.isTurn());
+        assertFalse(board.getUpperPlayer().isTurn());
+        assertEquals(16, engine.getPieces().size());
+        assertEquals(Board.START_FEN.replace("KQkq", "-"), board.toFen());
+        assertTrue(engine.play(board));
+        assertTrue(board.getUpperPlayer().isTurn());
+    }
+
+
 }
\ No newline at end of file
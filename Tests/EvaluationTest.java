@@ -0,0 +1,59 @@
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EvaluationTest {
+
+    @Test
+    public void startPositionIsLevel() throws Exception {
+        Position position = new Board().getPosition();
+        assertEquals(0, position.getMiddlegameScore());
+        assertEquals(0, position.getEndgameScore());
+        assertEquals(PieceSquareTables.MAX_PHASE, position.getPhase());
+        assertEquals(0, Evaluation.evaluate(position, new PawnTable(16)));
+    }
+
+    @Test
+    public void scoresPieceSquareTables() throws Exception {
+        //The kings stand on mirrored squares and cancel out, leaving the queen on d1: 1025 + 10 in the middlegame and 936 - 43 in the
+        //endgame, blended at phase 4 of 24.
+        Position position = new Board("4k3/8/8/8/8/8/8/3QK3 w - - 0 1").getPosition();
+        assertEquals(1035, position.getMiddlegameScore());
+        assertEquals(893, position.getEndgameScore());
+        assertEquals(4, position.getPhase());
+        assertEquals((1035 * 4 + 893 * 20) / 24, Evaluation.evaluate(position, new PawnTable(16)));
+        //The same queen on d8 for the upper side scores the same against it, and the score is turned to the side to move.
+        Position mirrored = new Board("3qk3/8/8/8/8/8/8/4K3 b - - 0 1").getPosition();
+        assertEquals(-1035, mirrored.getMiddlegameScore());
+        assertEquals(-893, mirrored.getEndgameScore());
+        assertEquals((1035 * 4 + 893 * 20) / 24, Evaluation.evaluate(mirrored, new PawnTable(16)));
+    }
+
+    @Test
+    public void scoresDoubledIsolatedAndPassedPawns() throws Exception {
+        //Both pawns on the a file are isolated and the rear one is doubled, while the front one is passed two rows from home.
+        long lower = PawnStructure.evaluate(new Board("4k3/8/8/8/8/P7/P7/4K3 w - - 0 1").getPosition());
+        assertEquals(-10 - 2 * 10 + 10, PawnStructure.getMiddlegame(lower));
+        assertEquals(-20 - 2 * 15 + 20, PawnStructure.getEndgame(lower));
+        //The same pawns of the upper side score the same the other way round.
+        long upper = PawnStructure.evaluate(new Board("4k3/p7/p7/8/8/8/8/4K3 w - - 0 1").getPosition());
+        assertEquals(-PawnStructure.getMiddlegame(lower), PawnStructure.getMiddlegame(upper));
+        assertEquals(-PawnStructure.getEndgame(lower), PawnStructure.getEndgame(upper));
+    }
+
+    @Test
+    public void scoresBackwardPawns() throws Exception {
+        //The pawn on c2 has no pawn beside or behind it and the pawn on b4 guards c3, so it is backward. The pawn on d4 is passed three
+        //rows from home, and the upper pawn on b4 is isolated.
+        Position position = new Board("4k3/8/8/8/1p1P4/8/2P5/4K3 w - - 0 1").getPosition();
+        long scores = PawnStructure.evaluate(position);
+        assertEquals(-8 + 15 + 10, PawnStructure.getMiddlegame(scores));
+        assertEquals(-10 + 35 + 15, PawnStructure.getEndgame(scores));
+        //The pawn table hands back the same scores, the second time without working them out.
+        PawnTable pawns = new PawnTable(16);
+        assertEquals(scores, pawns.probe(position));
+        assertEquals(0, pawns.getHits());
+        assertEquals(scores, pawns.probe(position));
+        assertEquals(1, pawns.getHits());
+    }
+}
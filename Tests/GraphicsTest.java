@@ -0,0 +1,74 @@
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.event.MouseEvent;
+
+import static org.junit.Assert.*;
+
+public class GraphicsTest {
+
+    @Test
+    public void sharesPieceImages() throws Exception {
+        assertSame(PieceIcons.getIcon(true, Piece.KNIGHT), PieceIcons.getIcon(new Board().getGrid()[1][0].getPiece()));
+        assertNotSame(PieceIcons.getIcon(true, Piece.KNIGHT), PieceIcons.getIcon(false, Piece.KNIGHT));
+        ImageIcon scaled = PieceIcons.getIcon(false, Piece.QUEEN, 37);
+        assertSame(scaled, PieceIcons.getIcon(false, Piece.QUEEN, 37));
+        assertEquals(37, Math.max(scaled.getIconWidth(), scaled.getIconHeight()));
+    }
+
+    @Test
+    public void keepsScaledImagesForRecentSizes() throws Exception {
+        ImageIcon first = PieceIcons.getIcon(false, Piece.PAWN, 40);
+        ImageIcon second = PieceIcons.getIcon(false, Piece.PAWN, 41);
+        PieceIcons.getIcon(false, Piece.PAWN, 42);
+        PieceIcons.getIcon(false, Piece.PAWN, 43);
+        //Using the first size again makes the second one the oldest, so a fifth size pushes out the second and keeps the first.
+        assertSame(first, PieceIcons.getIcon(false, Piece.PAWN, 40));
+        PieceIcons.getIcon(false, Piece.PAWN, 44);
+        assertSame(first, PieceIcons.getIcon(false, Piece.PAWN, 40));
+        assertNotSame(second, PieceIcons.getIcon(false, Piece.PAWN, 41));
+    }
+
+    /**
+     * Presses and releases the mouse over a point of a view.
+     */
+    private static void click(BoardView view, int x, int y) {
+        view.dispatchEvent(new MouseEvent(view, MouseEvent.MOUSE_PRESSED, 0, 0, x, y, 1, false, MouseEvent.BUTTON1));
+        view.dispatchEvent(new MouseEvent(view, MouseEvent.MOUSE_RELEASED, 0, 0, x, y, 1, false, MouseEvent.BUTTON1));
+    }
+
+    @Test
+    public void findsSquaresUnderPoints() throws Exception {
+        BoardView view = new BoardView();
+        //At its preferred size the view has 60 pixel squares with 2 pixel lines between them.
+        view.setSize(view.getPreferredSize());
+        Square[][] grid = view.getBoard().getGrid();
+        assertSame(grid[0][0], view.squareAt(0, 0));
+        assertSame(grid[0][0], view.squareAt(59, 59));
+        assertNull(view.squareAt(60, 30));
+        assertSame(grid[1][0], view.squareAt(62, 30));
+        assertSame(grid[7][7], view.squareAt(7 * 62 + 59, 7 * 62 + 59));
+        assertNull(view.squareAt(-1, 30));
+        assertNull(view.squareAt(8 * 62, 30));
+        //A larger view keeps the board square and centres it, leaving a margin on the wider side.
+        view.setSize(594, 494);
+        assertNull(view.squareAt(10, 30));
+        assertSame(grid[0][0], view.squareAt(50, 30));
+    }
+
+    @Test
+    public void movesPiecesByClicks() throws Exception {
+        BoardView view = new BoardView();
+        view.setSize(view.getPreferredSize());
+        Board board = view.getBoard();
+        //Clicking a piece of the side not to move selects nothing.
+        click(view, 3 * 62 + 30, 1 * 62 + 30);
+        assertTrue(board.getSelectables().isEmpty());
+        //Clicking the pawn on e2 shows its two moves, and clicking e4 plays the double step.
+        click(view, 3 * 62 + 30, 6 * 62 + 30);
+        assertEquals(2, board.getSelectables().size());
+        click(view, 3 * 62 + 30, 4 * 62 + 30);
+        assertTrue(board.getSelectables().isEmpty());
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1", board.toFen());
+    }
+}
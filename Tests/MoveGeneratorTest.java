@@ -0,0 +1,50 @@
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoveGeneratorTest {
+
+    /**
+     * Counts the positions reached by every sequence of legal moves of a given length.
+     */
+    private static long perft(Position position, int depth, int[][] buffers) {
+        int[] moves = buffers[depth];
+        int count = MoveGenerator.generateLegal(position, moves, 0);
+        if(depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for(int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            nodes += perft(position, depth - 1, buffers);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static void assertPerft(String fen, long... expected) {
+        Position position = new Board(fen).getPosition();
+        long hash = position.getHash();
+        int[][] buffers = new int[expected.length + 1][MoveGenerator.MAX_MOVES];
+        for(int depth = 1; depth <= expected.length; depth++) {
+            assertEquals(fen + " at depth " + depth, expected[depth - 1], perft(position, depth, buffers));
+        }
+        assertEquals(hash, position.getHash());
+    }
+
+    @Test
+    public void perftStartPosition() throws Exception {
+        //Castling, en passant and promotion cannot happen within four plies of the start, so these are the usual counts.
+        assertPerft(Board.START_FEN, 20, 400, 8902, 197281);
+    }
+
+    @Test
+    public void perftPinsAndChecks() throws Exception {
+        //The pawn on b5 is pinned to its king by the rook on h5, and the rooks keep checking and blocking along the fourth and fifth ranks.
+        //The usual counts are 2812 and 43238, which include en passant captures, some of them uncovering a check on their own king.
+        //En passant is not played on this board, so those captures and the positions after them are left out.
+        assertPerft("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2810, 43087);
+        //The lower king is in check from the bishop, and the rook in front of it is pinned by the queen.
+        assertPerft("3k4/3q4/8/8/b7/8/3RN3/3K4 w - - 0 1", 2, 28, 415, 8877);
+    }
+}
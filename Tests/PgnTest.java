@@ -0,0 +1,115 @@
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PgnTest {
+
+    private static final String GAMES =
+            "[Event \"Fool's \\\"mate\\\"\"]\n[Result \"0-1\"]\n\n"
+            + "1. f3 {weakens the king} e5 (1... e6 2. g4 Qh4#) 2.g4?? $4 Qh4# 0-1\n\n"
+            + "[Event \"Castles\"]\n\n1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 1-0\n\n"
+            + "[Event \"No result\"]\n\n1. e4 e5 2. Ke3\n\n"
+            + "[Event \"En passant\"]\n\n1. e4 a6 2. e5 d5 3. exd6 *\n\n"
+            + "[FEN \"4k3/8/4K3/8/8/8/8/R7 w - - 0 1\"]\n\n1. Ra8# 1-0\n";
+
+    @Test
+    public void readsGames() throws Exception {
+        PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(GAMES.getBytes(StandardCharsets.US_ASCII))));
+        PgnGame game = new PgnGame();
+        assertTrue(reader.next(game));
+        assertEquals("Fool's \"mate\"", game.getTag("Event"));
+        assertEquals("0-1", game.getResult());
+        assertEquals(4, game.getMoveCount());
+        assertEquals("g4", game.getMove(2));
+        assertEquals("Qh4#", game.getMove(3));
+        assertTrue(reader.next(game));
+        assertEquals(8, game.getMoveCount());
+        assertTrue(reader.next(game));
+        assertEquals("*", game.getResult());
+        assertEquals("Ke3", game.getMove(2));
+        assertTrue(reader.next(game));
+        assertTrue(reader.next(game));
+        assertEquals(5, game.getNumber());
+        assertFalse(reader.next(game));
+    }
+
+    @Test
+    public void validatesGames() throws Exception {
+        for(int threads = 1; threads <= 2; threads++) {
+            PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(GAMES.getBytes(StandardCharsets.US_ASCII))));
+            List<GameReport> reports = Collections.synchronizedList(new ArrayList<>());
+            long moves = threads == 1 ? GameValidator.validateAll(reader, reports::add) : GameValidator.validateAll(reader, threads, reports::add);
+            reports.sort((a, b) -> Long.compare(a.getNumber(), b.getNumber()));
+            assertEquals(5, reports.size());
+            assertEquals(4 + 6 + 2 + 4 + 1, moves);
+            assertEquals(GameReport.VALID, reports.get(0).getOutcome());
+            assertEquals(MoveGenerator.CHECKMATE, reports.get(0).getStatus());
+            assertEquals(GameReport.UNSUPPORTED, reports.get(1).getOutcome());
+            assertEquals("O-O", reports.get(1).getBadMove());
+            assertEquals(GameReport.ILLEGAL, reports.get(2).getOutcome());
+            assertEquals(2, reports.get(2).getPlies());
+            assertEquals(GameReport.UNSUPPORTED, reports.get(3).getOutcome());
+            assertEquals("exd6", reports.get(3).getBadMove());
+            assertEquals(MoveGenerator.CHECKMATE, reports.get(4).getStatus());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void passesBackReportFailures() throws Exception {
+        //More games than the workers have buffers for, so a worker which lost its buffers would leave the reader waiting forever.
+        StringBuilder games = new StringBuilder();
+        for(int i = 0; i < 100; i++) {
+            games.append(GAMES).append("\n");
+        }
+        PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(games.toString().getBytes(StandardCharsets.US_ASCII))));
+        try {
+            GameValidator.validateAll(reader, 2, report -> {
+                throw new IllegalStateException("Report " + report.getNumber() + " refused");
+            });
+            fail("The failure of the reports consumer was lost");
+        }
+        catch(IllegalStateException e) {
+            //Expected.
+        }
+    }
+
+    @Test
+    public void rejectsMismatchedMoves() throws Exception {
+        String games = "[FEN \"4k3/8/8/8/4p3/3P4/8/4K3 w - - 0 1\"]\n\n1. e4 *\n\n[Event \"Capture\"]\n\n1. Nxf3 *\n";
+        PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(games.getBytes(StandardCharsets.US_ASCII))));
+        List<GameReport> reports = new ArrayList<>();
+        GameValidator.validateAll(reader, reports::add);
+        //A pawn push may not be read as a capture from the next file, and a capture marker may not stand on a move to an empty square.
+        assertEquals(GameReport.ILLEGAL, reports.get(0).getOutcome());
+        assertEquals("e4", reports.get(0).getBadMove());
+        assertEquals(GameReport.ILLEGAL, reports.get(1).getOutcome());
+        assertEquals("Nxf3", reports.get(1).getBadMove());
+        Position position = new Board("4k3/8/8/8/4p3/3P4/8/4K3 w - - 0 1").getPosition();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        byte[] text = "dxe4".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(Move.isCapture(San.decode(position, text, 0, text.length, moves)));
+        text = "xe4".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Move.NONE, San.decode(position, text, 0, text.length, moves));
+    }
+
+    @Test
+    public void writesMoves() throws Exception {
+        //Both lower knights can take the pawn on d2, so the file the capturing knight leaves from is named.
+        Board board = new Board("4k3/8/8/8/8/8/3p4/1N1K1N2 w - - 0 1");
+        Position position = board.getPosition();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        byte[] text = "Nbxd2".getBytes(StandardCharsets.US_ASCII);
+        int move = San.decode(position, text, 0, text.length, moves);
+        assertTrue(Move.isCapture(move));
+        assertEquals("Nbxd2", San.encode(position, move, moves));
+        text = "Nxd2".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Move.NONE, San.decode(position, text, 0, text.length, moves));
+    }
+}
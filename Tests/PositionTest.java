@@ -0,0 +1,167 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PositionTest {
+
+    /**
+     * Sets up a new position holding the same pieces, pawn starts and side to move, so every incrementally kept field is worked out afresh.
+     */
+    private static Position rebuild(Position position) {
+        Position rebuilt = new Position();
+        for(int sq = 0; sq < 64; sq++) {
+            if(position.isOccupied(sq)) {
+                rebuilt.put(sq, position.getSideAt(sq), position.getTypeAt(sq));
+            }
+        }
+        long starts = position.getPawnStarts();
+        while(starts != 0) {
+            rebuilt.setPawnStart(Long.numberOfTrailingZeros(starts));
+            starts &= starts - 1;
+        }
+        rebuilt.setSideToMove(position.getSideToMove());
+        return rebuilt;
+    }
+
+    /**
+     * Gets the squares attacked by a piece from its type and the occupied squares alone.
+     */
+    private static long attacksOf(Position position, int sq) {
+        long occupied = position.getOccupied();
+        switch(position.getTypeAt(sq)) {
+            case Piece.PAWN:
+                return Attacks.pawn(position.getSideAt(sq), sq);
+            case Piece.KNIGHT:
+                return Attacks.knight(sq);
+            case Piece.BISHOP:
+                return Attacks.bishop(sq, occupied);
+            case Piece.ROOK:
+                return Attacks.rook(sq, occupied);
+            case Piece.QUEEN:
+                return Attacks.queen(sq, occupied);
+            default:
+                return Attacks.king(sq);
+        }
+    }
+
+    /**
+     * Gets the bitboard index of a square in algebraic notation, such as e4.
+     */
+    private static int square(String name) {
+        return Position.index(7 - (name.charAt(0) - 'a'), 8 - (name.charAt(1) - '0'));
+    }
+
+    /**
+     * Plays moves given by their from and to squares, such as g1f3, on a board.
+     */
+    private static Board play(Board board, String... moves) {
+        Square[][] grid = board.getGrid();
+        for(String move:moves) {
+            int from = square(move.substring(0, 2));
+            int to = square(move.substring(2, 4));
+            board.move(grid[Position.getX(from)][Position.getY(from)].getPiece(), grid[Position.getX(to)][Position.getY(to)]);
+        }
+        return board;
+    }
+
+    private static void assertConsistent(Position position, PawnTable pawns, String where) {
+        Position rebuilt = rebuild(position);
+        assertEquals(where, rebuilt.getHash(), position.getHash());
+        assertEquals(where, rebuilt.getPawnHash(), position.getPawnHash());
+        assertEquals(where, rebuilt.getMiddlegameScore(), position.getMiddlegameScore());
+        assertEquals(where, rebuilt.getEndgameScore(), position.getEndgameScore());
+        assertEquals(where, rebuilt.getPhase(), position.getPhase());
+        long[] sideAttacks = new long[2];
+        int[] counts = new int[128];
+        for(int sq = 0; sq < 64; sq++) {
+            long attacks = position.isOccupied(sq) ? attacksOf(position, sq) : 0L;
+            assertEquals(where, attacks, position.getAttacksFrom(sq));
+            if(attacks != 0) {
+                int side = position.getSideAt(sq);
+                sideAttacks[side] |= attacks;
+                while(attacks != 0) {
+                    counts[side * 64 + Long.numberOfTrailingZeros(attacks)]++;
+                    attacks &= attacks - 1;
+                }
+            }
+        }
+        for(int side = 0; side < 2; side++) {
+            assertEquals(where, sideAttacks[side], position.getAttacks(side));
+            for(int sq = 0; sq < 64; sq++) {
+                assertEquals(where, counts[side * 64 + sq], position.getAttackCount(side, sq));
+            }
+        }
+        //The pawn table is looked up by the incrementally kept pawn hash, so a stale hash would hand back the scores of other pawns.
+        assertEquals(where, PawnStructure.evaluate(rebuilt), pawns.probe(position));
+    }
+
+    @Test
+    public void transpositionsShareAHash() throws Exception {
+        long start = new Board().hash();
+        Board knights = play(new Board(), "g1f3", "g8f6", "b1c3", "b8c6");
+        Board swapped = play(new Board(), "b1c3", "b8c6", "g1f3", "g8f6");
+        assertEquals(knights.hash(), swapped.hash());
+        assertNotEquals(start, knights.hash());
+        assertEquals(start, play(new Board(), "g1f3", "g8f6", "f3g1", "f6g8").hash());
+        //Pawns which went up in two single steps may not move two squares any more, just like pawns which went up in one double step.
+        Board doubleSteps = play(new Board(), "e2e4", "e7e5");
+        Board singleSteps = play(new Board(), "e2e3", "e7e6", "e3e4", "e6e5");
+        assertEquals(doubleSteps.hash(), singleSteps.hash());
+        assertEquals(doubleSteps.pawnHash(), singleSteps.pawnHash());
+        assertEquals(new Board().pawnHash(), knights.pawnHash());
+        assertNotEquals(knights.pawnHash(), doubleSteps.pawnHash());
+    }
+
+    @Test
+    public void attackMapsFollowMoves() throws Exception {
+        Board board = new Board();
+        Position position = board.getPosition();
+        //In the start position the pawns and knights cover the third and sixth ranks and nothing beyond them.
+        assertEquals(3, position.getAttackCount(Position.LOWER, square("c3")));
+        assertEquals(2, position.getAttackCount(Position.LOWER, square("d3")));
+        assertEquals(2, position.getAttackCount(Position.LOWER, square("e3")));
+        assertEquals(3, position.getAttackCount(Position.UPPER, square("f6")));
+        assertEquals(0, position.getAttacks(Position.LOWER) & 0xFFFFFFFFFFL);
+        assertEquals(0, position.getAttackCount(Position.LOWER, square("a6")));
+        //Moving the e pawn opens the diagonal of the bishop on f1, which takes over d3 from it, and takes the pawn's own attacks to d5 and f5.
+        play(board, "e2e4");
+        assertEquals(1, position.getAttackCount(Position.LOWER, square("a6")));
+        assertEquals(4, position.getAttackCount(Position.LOWER, square("e2")));
+        assertEquals(2, position.getAttackCount(Position.LOWER, square("d3")));
+        assertTrue(position.isSquareAttacked(square("d5"), Position.LOWER));
+        assertEquals(0, position.getAttacksFrom(square("e2")));
+        board.unmakeMove();
+        assertEquals(0, position.getAttackCount(Position.LOWER, square("a6")));
+        assertEquals(2, position.getAttackCount(Position.LOWER, square("d3")));
+    }
+
+    @Test
+    public void incrementalStateMatchesRebuild() throws Exception {
+        Random random = new Random(2017);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        PawnTable pawns = new PawnTable(1 << 10);
+        for(int game = 0; game < 60; game++) {
+            Position position = new Board().getPosition();
+            assertConsistent(position, pawns, "start");
+            for(int ply = 0; ply < 160; ply++) {
+                int count = MoveGenerator.generateLegal(position, moves, 0);
+                if(count == 0) {
+                    break;
+                }
+                //One move is made and taken back before another is kept, so both making and taking back are checked.
+                int tried = moves[random.nextInt(count)];
+                position.makeMove(tried);
+                assertConsistent(position, pawns, "game " + game + " ply " + ply + " after making");
+                position.unmakeMove();
+                assertConsistent(position, pawns, "game " + game + " ply " + ply + " after taking back");
+                position.makeMove(moves[random.nextInt(count)]);
+            }
+            while(position.getPly() > 0) {
+                position.unmakeMove();
+            }
+            assertConsistent(position, pawns, "game " + game + " taken back to the start");
+        }
+    }
+}
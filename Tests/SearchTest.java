@@ -0,0 +1,87 @@
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchTest {
+
+    @Test
+    public void findsMateInOne() throws Exception {
+        //The upper king is boxed in by its own pawns, so the lower rook mates along the top row.
+        Position position = new Position();
+        position.put(Position.index(0, 0), Position.UPPER, Piece.KING);
+        position.put(Position.index(0, 1), Position.UPPER, Piece.PAWN);
+        position.put(Position.index(1, 1), Position.UPPER, Piece.PAWN);
+        position.put(Position.index(4, 7), Position.LOWER, Piece.KING);
+        position.put(Position.index(7, 5), Position.LOWER, Piece.ROOK);
+        Search search = new Search();
+        int move = search.search(position, 4, 0);
+        assertEquals(Position.index(7, 5), Move.getFrom(move));
+        assertEquals(Position.index(7, 0), Move.getTo(move));
+        assertEquals(Search.MATE - 1, search.getScore());
+        assertEquals(0, position.getPly());
+    }
+
+    @Test
+    public void stopsAtNodeBudget() throws Exception {
+        Board board = new Board();
+        long hash = board.hash();
+        Search search = new Search();
+        int move = search.search(board.getPosition(), 20, 5000);
+        assertEquals(5000, search.getNodes());
+        assertNotEquals(Move.NONE, move);
+        assertEquals(move, search.getPrincipalVariation()[0]);
+        assertEquals(hash, board.hash());
+    }
+
+    @Test
+    public void singleThreadIsDeterministic() throws Exception {
+        Board board = new Board();
+        ParallelSearch first = new ParallelSearch(1, new TranspositionTable(1));
+        ParallelSearch second = new ParallelSearch(1, new TranspositionTable(1));
+        assertEquals(first.search(board.getPosition(), 4, 0), second.search(board.getPosition(), 4, 0));
+        assertEquals(first.getNodes(), second.getNodes());
+        assertEquals(0, board.getPosition().getPly());
+    }
+
+    @Test
+    public void olderResultsGiveWay() throws Exception {
+        //Three positions whose hashes fall in the same bucket.
+        long deep = 5L;
+        long shallow = 5L | (1L << 40);
+        long newer = 5L | (2L << 40);
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(deep, 10, TranspositionTable.EXACT, 50, Move.NONE);
+        //Within one search the deeper result keeps the first entry and the shallower one takes the second.
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, Move.NONE);
+        assertEquals(10, TranspositionTable.getDepth(table.probe(deep)));
+        assertEquals(2, TranspositionTable.getDepth(table.probe(shallow)));
+        //In the next search the deep result is older, so even a shallower result replaces it.
+        table.newSearch();
+        table.store(newer, 1, TranspositionTable.EXACT, 10, Move.NONE);
+        assertEquals(0L, table.probe(deep));
+        assertEquals(1, TranspositionTable.getDepth(table.probe(newer)));
+        assertEquals(2, TranspositionTable.getDepth(table.probe(shallow)));
+    }
+
+    @Test
+    public void searchAgesItsOwnTable() throws Exception {
+        TranspositionTable table = new TranspositionTable(1);
+        Search search = new Search(table);
+        search.search(new Board().getPosition(), 5, 0);
+        assertTrue(table.getFill() > 0);
+        //Searching a position with no moves stores nothing, so once the search has moved on every stored result counts as old.
+        search.search(new Board("k7/1Q6/1K6/8/8/8/8/8 b - - 0 1").getPosition(), 5, 0);
+        assertEquals(0, table.getFill());
+    }
+
+    @Test
+    public void stopsAtTimeLimit() throws Exception {
+        Board board = new Board();
+        Search search = new Search(new TranspositionTable(1));
+        long start = System.currentTimeMillis();
+        int move = search.search(board.getPosition(), Search.MAX_PLY, 0, 50);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertNotEquals(Move.NONE, move);
+        assertEquals(0, board.getPosition().getPly());
+    }
+}
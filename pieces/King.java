@@ -1,49 +1,48 @@
-import javax.swing.*;
-import java.util.ArrayList;
-
-/**
- * Class which implements the Piece interface so that you can create a King chess piece.
- */
-public class King extends Piece {
-
-    private Square[] moves;
-
-    /**
-     * Creates King objects to be used on a chess board.
-     * @param position - the position of the King on the board.
-     * @param up - what size of the board the piece is on. True for 'up', false for 'down'.
-     * @param icon - the image to be used for the king in the graphics view.
-     */
-    public King(Square position, boolean up, ImageIcon icon) {
-        super(position,up,icon);
-        position.setPiece(this);
-        initializeMoves();
-    }
-
-    /**
-     * Initializes all the moves in the king's repertoire. Unlike other pieces you don't need separate lists because the knight only has one possible
-     * move in a direction.
-     */
-    public void initializeMoves() {
-        moves = new Square[]{new Square(1,1), new Square(-1,-1), new Square(-1,1), new Square(1,-1),
-                             new Square(1,0), new Square(0,1), new Square(-1,0), new Square(0,-1)};
-    }
-
-    /**
-     * Constructs a list of valid moves. Iterates through the move set and adds it to a list of valid moves.
-     * @param board - the board object which will be analyzed.
-     * @return an ArrayList of valid moves.
-     */
-    public ArrayList<Square> getPossibleMoves(Board board) {
-        ArrayList<Square> possibleMoves = new ArrayList<>();
-        for(Square move:moves) {
-            Square newPos = new Square(super.getPosition().getX() + move.getX(), super.getPosition().getY() + move.getY());
-            if(!isOutOfBounds(move)) {
-                if(board.isFoe(newPos, super.isUp()) || !board.isOccupied(newPos)) {
-                    possibleMoves.add(move);
-                }
-            }
-        }
-        return possibleMoves;
-    }
+import java.util.ArrayList;
+
+/**
+ * Class which implements the Piece interface so that you can create a King chess piece.
+ */
+public class King extends Piece {
+
+    /**
+     * Creates King objects to be used on a chess board.
+     * @param position - the position of the King on the board.
+     * @param up - what size of the board the piece is on. True for 'up', false for 'down'.
+     */
+    public King(Square position, boolean up) {
+        super(position,up);
+        position.setPiece(this);
+    }
+
+    /**
+     * Gets the type of the piece.
+     * @return the king type constant.
+     */
+    public int getType() {
+        return KING;
+    }
+
+    /**
+     * The king's moves are read from the shared table in Attacks for the square it stands on, so there is nothing to initialize per piece.
+     */
+    public void initializeMoves() {
+    }
+
+    /**
+     * Constructs a list of valid moves. Looks up the squares attacked from the king's position and keeps those which are empty or hold a foe.
+     * @param board - the board object which will be analyzed.
+     * @return an ArrayList of valid moves.
+     */
+    public ArrayList<Square> getPossibleMoves(Board board) {
+        ArrayList<Square> possibleMoves = new ArrayList<>();
+        int from = Board.indexOf(super.getPosition());
+        long targets = Attacks.king(from) & ~board.getPosition().getSide(Position.sideOf(super.isUp()));
+        while(targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            possibleMoves.add(new Square(Position.getX(to) - Position.getX(from), Position.getY(to) - Position.getY(from)));
+        }
+        return possibleMoves;
+    }
 }
\ No newline at end of file